@@ -0,0 +1,59 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.dto.CardMapper;
+import com.example.bankcards.dto.CardResponse;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardMapperBenchmark {
+
+    private CardMapper cardMapper;
+    private ObjectMapper objectMapper;
+    private Card card;
+    private CardResponse response;
+
+    @Setup
+    public void setUp() {
+        cardMapper = new CardMapper();
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        User owner = new User("ivan_ivanov", "password", "ivan@ivanov.com", Role.USER);
+        card = new Card("encrypted", "**** **** **** 9010", "IVAN IVANOV", LocalDate.now().plusYears(3), owner);
+        card.setId(1L);
+        card.setBalance(new BigDecimal("1000.00"));
+        response = cardMapper.toResponse(card);
+    }
+
+    @Benchmark
+    public CardResponse toResponse() {
+        return cardMapper.toResponse(card);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public String toResponseAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(cardMapper.toResponse(card));
+    }
+}
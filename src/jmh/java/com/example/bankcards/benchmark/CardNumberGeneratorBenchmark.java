@@ -0,0 +1,51 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.util.CardNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * isValidCardNumber and getCardType should report gc.alloc.rate.norm of ~0 B/op under the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardNumberGeneratorBenchmark {
+
+    private static final int BULK_SIZE = 1000;
+
+    private CardNumberGenerator cardNumberGenerator;
+    private String cardNumber;
+
+    @Setup
+    public void setUp() {
+        cardNumberGenerator = new CardNumberGenerator();
+        cardNumber = cardNumberGenerator.generateCardNumber();
+    }
+
+    @Benchmark
+    public String generateCardNumber() {
+        return cardNumberGenerator.generateCardNumber();
+    }
+
+    @Benchmark
+    public boolean isValidCardNumber() {
+        return cardNumberGenerator.isValidCardNumber(cardNumber);
+    }
+
+    @Benchmark
+    public String getCardType() {
+        return cardNumberGenerator.getCardType(cardNumber);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public List<String> generateCardNumbers() {
+        return cardNumberGenerator.generateCardNumbers(BULK_SIZE);
+    }
+}
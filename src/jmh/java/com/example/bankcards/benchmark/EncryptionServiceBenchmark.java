@@ -0,0 +1,87 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.util.EncryptionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptionServiceBenchmark {
+
+    private static final String KEY = "benchmarkEncryptionKey1";
+    private static final String CARD_NUMBER = "4000123456789010";
+    private static final int BATCH_SIZE = 1000;
+
+    private EncryptionService encryptionService;
+    private String encrypted;
+    private List<String> batch;
+    private List<String> encryptedBatch;
+
+    @Setup
+    public void setUp() {
+        encryptionService = new EncryptionService();
+        ReflectionTestUtils.setField(encryptionService, "encryptionKey", KEY);
+        ReflectionTestUtils.setField(encryptionService, "hashKey", "benchmarkHashKey1");
+        encrypted = encryptionService.encrypt(CARD_NUMBER);
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(String.format("4000%012d", i));
+        }
+        encryptedBatch = encryptionService.encryptAll(batch);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return encryptionService.encrypt(CARD_NUMBER);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return encryptionService.decrypt(encrypted);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<String> encryptAll() {
+        return encryptionService.encryptAll(batch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<String> decryptAll() {
+        return encryptionService.decryptAll(encryptedBatch);
+    }
+
+    @Benchmark
+    public String hash() {
+        return encryptionService.hash(CARD_NUMBER);
+    }
+
+    @Benchmark
+    public String createMask() {
+        return encryptionService.createMask(CARD_NUMBER);
+    }
+
+    /**
+     * Baseline: the original AES/ECB implementation, which built the key and looked up the Cipher on every call.
+     */
+    @Benchmark
+    public String encryptPerCallCipher() throws Exception {
+        byte[] key = new byte[16];
+        System.arraycopy(KEY.getBytes(), 0, key, 0, 16);
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"));
+        return Base64.getEncoder().encodeToString(cipher.doFinal(CARD_NUMBER.getBytes()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.security.JwtPrincipal;
+import com.example.bankcards.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret",
+                "benchmark_jwt_secret_key_min_64_chars_long_used_only_for_benchmarks_01");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        user = new User("ivan_ivanov", "password", "ivan@ivanov.com", Role.USER);
+        user.setId(1L);
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, "ivan_ivanov");
+    }
+
+    /**
+     * What JwtAuthenticationFilter does per request: one signature check, principal from the claims.
+     * Single-threaded, so the score is tokens verified per second per core.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(1)
+    public JwtPrincipal verifyToken() {
+        return jwtUtil.toPrincipal(jwtUtil.parseClaims(token));
+    }
+}
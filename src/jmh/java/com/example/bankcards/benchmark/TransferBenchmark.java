@@ -0,0 +1,77 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.BankCardsApplication;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.CardService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CardService.transferMoney end to end against the in-memory H2 database of the test profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferBenchmark {
+
+    private static final String USERNAME = "benchmark_user";
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private ConfigurableApplicationContext context;
+    private CardService cardService;
+    private Long firstCardId;
+    private Long secondCardId;
+    private boolean forward;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(BankCardsApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.docker.compose.enabled=false",
+                        "--logging.level.com.example.bankcards=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+        cardService = context.getBean(CardService.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CardRepository cardRepository = context.getBean(CardRepository.class);
+        User user = userRepository.save(new User(USERNAME, "password", "benchmark@bank.com", Role.USER));
+        firstCardId = cardRepository.save(card("enc_benchmark_1", "**** **** **** 0001", user)).getId();
+        secondCardId = cardRepository.save(card("enc_benchmark_2", "**** **** **** 0002", user)).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void transferMoney() {
+        forward = !forward;
+        if (forward) {
+            cardService.transferMoney(firstCardId, secondCardId, AMOUNT, USERNAME);
+        } else {
+            cardService.transferMoney(secondCardId, firstCardId, AMOUNT, USERNAME);
+        }
+    }
+
+    private static Card card(String encryptedNumber, String maskedNumber, User owner) {
+        Card card = new Card(encryptedNumber, maskedNumber, "BENCHMARK USER", LocalDate.now().plusYears(3), owner);
+        card.setBalance(new BigDecimal("1000000.00"));
+        return card;
+    }
+}
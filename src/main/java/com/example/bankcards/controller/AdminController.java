@@ -1,10 +1,21 @@
 package com.example.bankcards.controller;
 
+import com.example.bankcards.dto.BatchTransferRequest;
+import com.example.bankcards.dto.BatchTransferResponse;
 import com.example.bankcards.dto.CardMapper;
 import com.example.bankcards.dto.CardResponse;
 import com.example.bankcards.dto.CreateCardRequest;
+import com.example.bankcards.dto.ExpirySweepResult;
+import com.example.bankcards.dto.JobStatusResponse;
 import com.example.bankcards.entity.Card;
+import com.example.bankcards.security.TokenRevocationService;
+import com.example.bankcards.service.BatchTransferService;
+import com.example.bankcards.service.BulkCardIssuanceService;
+import com.example.bankcards.service.CardExpiryService;
+import com.example.bankcards.service.CardReEncryptionJob;
+import com.example.bankcards.service.CardReportService;
 import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.JobLockService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,9 +27,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -33,6 +53,27 @@ public class AdminController {
     @Autowired
     private CardMapper cardMapper;
 
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private CardExpiryService cardExpiryService;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private CardReportService cardReportService;
+
+    @Autowired
+    private CardReEncryptionJob cardReEncryptionJob;
+
+    @Autowired
+    private BulkCardIssuanceService bulkCardIssuanceService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @GetMapping("/cards")
     @Operation(summary = "Получить все карты", description = "Возвращает список всех карт в системе с пагинацией")
     @ApiResponses(value = {
@@ -70,6 +111,26 @@ public class AdminController {
         }
     }
 
+    @PostMapping(value = "/cards/issue/batch", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Массовый выпуск карт", description = "Принимает поток строк (username, cardHolder) в формате CSV или NDJSON и потоково возвращает результат по каждой строке в NDJSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Выпуск выполняется, результаты по каждой строке в ответе"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
+            @ApiResponse(responseCode = "415", description = "Неподдерживаемый формат")
+    })
+    public ResponseEntity<StreamingResponseBody> issueCards(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+
+        BulkCardIssuanceService.Format format = "csv".equalsIgnoreCase(contentType.getSubtype())
+                ? BulkCardIssuanceService.Format.CSV
+                : BulkCardIssuanceService.Format.NDJSON;
+        StreamingResponseBody response = out -> bulkCardIssuanceService.issue(body, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(response);
+    }
+
     @PutMapping("/cards/{cardId}/activate")
     @Operation(summary = "Активировать карту", description = "Активирует заблокированную карту")
     @ApiResponses(value = {
@@ -107,13 +168,104 @@ public class AdminController {
     }
 
     @PostMapping("/cards/update-status")
-    @Operation(summary = "Обновить статусы карт", description = "Обновляет статусы всех истекших карт")
+    @Operation(summary = "Обновить статусы карт", description = "Переводит истекшие карты в статус EXPIRED и возвращает число обновленных карт и время выполнения")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Статусы обновлены"),
             @ApiResponse(responseCode = "403", description = "Доступ запрещен")
     })
-    public ResponseEntity<String> updateCardStatuses() {
-        cardService.updateCardStatus();
-        return ResponseEntity.ok("Card statuses updated successfully");
+    public ResponseEntity<ExpirySweepResult> updateCardStatuses() {
+        return ResponseEntity.ok(cardExpiryService.expireCards());
+    }
+
+    @GetMapping("/reports/expiring-cards")
+    @Operation(summary = "Отчет по истекающим картам", description = "Потоково выгружает все карты, срок действия которых истекает в ближайшие N дней, в формате NDJSON или CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Отчет формируется"),
+            @ApiResponse(responseCode = "400", description = "Некорректный горизонт или формат"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен")
+    })
+    public ResponseEntity<?> getExpiringCardsReport(
+            @Parameter(description = "Горизонт в днях") @RequestParam(defaultValue = "30") int days,
+            @Parameter(description = "Формат: ndjson или csv") @RequestParam(defaultValue = "ndjson") String format) {
+
+        if (days < 0 || days > 3650) {
+            return ResponseEntity.badRequest().body("Days must be between 0 and 3650");
+        }
+
+        CardReportService.Format reportFormat;
+        try {
+            reportFormat = CardReportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Unsupported report format: " + format);
+        }
+
+        StreamingResponseBody body = out -> cardReportService.writeExpiringCards(days, reportFormat, out);
+        if (reportFormat == CardReportService.Format.CSV) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"expiring-cards.csv\"")
+                    .body(body);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "Состояние фоновых задач", description = "Возвращает владельца аренды и статистику последнего запуска каждой фоновой задачи")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Состояние задач получено"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен")
+    })
+    public ResponseEntity<List<JobStatusResponse>> getJobStatuses() {
+        return ResponseEntity.ok(jobLockService.getJobStatuses());
+    }
+
+    @PostMapping("/jobs/card-re-encryption")
+    @Operation(summary = "Перешифровать номера карт", description = "Запускает в фоне перешифрование номеров карт текущей версией ключа; прогресс виден в состоянии фоновых задач")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Перешифрование запущено"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
+            @ApiResponse(responseCode = "409", description = "Перешифрование уже выполняется")
+    })
+    public ResponseEntity<String> startCardReEncryption() {
+        if (!cardReEncryptionJob.start()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Card re-encryption is already running");
+        }
+        return ResponseEntity.accepted().body("Card re-encryption started");
+    }
+
+    @PostMapping("/users/{username}/revoke-tokens")
+    @Operation(summary = "Отозвать токены пользователя", description = "Отзывает все выданные пользователю JWT токены; на других экземплярах вступает в силу после синхронизации (jwt.revocation.sync-interval-ms)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Токены отозваны"),
+            @ApiResponse(responseCode = "400", description = "Пользователь не найден"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен")
+    })
+    public ResponseEntity<String> revokeUserTokens(
+            @Parameter(description = "Имя пользователя") @PathVariable String username) {
+
+        try {
+            tokenRevocationService.revokeAll(username);
+            return ResponseEntity.ok("Tokens revoked for user: " + username);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/cards/transfer/batch")
+    @Operation(summary = "Пакетный перевод между любыми картами", description = "Выполняет список переводов между картами любых пользователей в одной транзакции")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Пакет обработан, результаты по каждому переводу в ответе"),
+            @ApiResponse(responseCode = "400", description = "Некорректные данные или превышен размер пакета"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен")
+    })
+    public ResponseEntity<?> transferMoneyBatch(@Valid @RequestBody BatchTransferRequest request) {
+        try {
+            BatchTransferResponse response = batchTransferService.transferAllAsAdmin(request.transfers());
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
\ No newline at end of file
@@ -3,14 +3,17 @@ package com.example.bankcards.controller;
 import com.example.bankcards.dto.LoginRequest;
 import com.example.bankcards.dto.LoginResponse;
 import com.example.bankcards.dto.RegisterRequest;
+import com.example.bankcards.security.JwtPrincipal;
 import com.example.bankcards.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -52,6 +55,25 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/logout")
+    @Operation(summary = "Выход из системы", description = "Отзывает текущий JWT токен до истечения его срока действия")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Токен отозван"),
+            @ApiResponse(responseCode = "401", description = "Запрос без действующего токена")
+    })
+    public ResponseEntity<?> logout(Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof JwtPrincipal principal)) {
+            return ResponseEntity.status(401)
+                    .body(new ErrorResponse("Требуется действующий токен"));
+        }
+        try {
+            return ResponseEntity.ok(authService.logout(principal));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     public static class ErrorResponse {
         private String message;
 
@@ -1,11 +1,20 @@
 package com.example.bankcards.controller;
 
+import com.example.bankcards.dto.BatchTransferRequest;
+import com.example.bankcards.dto.BatchTransferResponse;
 import com.example.bankcards.dto.CardMapper;
 import com.example.bankcards.dto.CardResponse;
+import com.example.bankcards.dto.CardTransactionResponse;
 import com.example.bankcards.dto.CreateCardRequest;
 import com.example.bankcards.dto.TransferRequest;
+import com.example.bankcards.dto.TransferStatusResponse;
 import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardTransaction;
+import com.example.bankcards.exception.IdempotencyKeyInProgressException;
+import com.example.bankcards.service.AsyncTransferService;
+import com.example.bankcards.service.BatchTransferService;
 import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,14 +23,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -36,6 +47,15 @@ public class CardController {
     @Autowired
     private CardMapper cardMapper;
 
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private AsyncTransferService asyncTransferService;
+
     @GetMapping("/my")
     @Operation(summary = "Получить мои карты", description = "Возвращает список карт текущего пользователя")
     @ApiResponses(value = {
@@ -88,6 +108,27 @@ public class CardController {
         }
     }
 
+    @GetMapping("/{cardId}/transactions")
+    @Operation(summary = "История операций по карте", description = "Возвращает списания и зачисления по карте, начиная с последних")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "История получена успешно"),
+            @ApiResponse(responseCode = "404", description = "Карта не найдена или принадлежит другому пользователю")
+    })
+    public ResponseEntity<Slice<CardTransactionResponse>> getCardTransactions(
+            @Parameter(description = "ID карты") @PathVariable Long cardId,
+            @Parameter(description = "Номер страницы") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Размер страницы") @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            Slice<CardTransaction> transactions = cardService.getCardTransactions(cardId, authentication.getName(), pageable);
+            return ResponseEntity.ok(transactions.map(cardMapper::toTransactionResponse));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PostMapping
     @Operation(summary = "Создать новую карту", description = "Создает новую банковскую карту для пользователя")
     @ApiResponses(value = {
@@ -128,24 +169,90 @@ public class CardController {
     }
 
     @PostMapping("/transfer")
-    @Operation(summary = "Перевод между картами", description = "Переводит деньги между картами одного пользователя")
+    @Operation(summary = "Перевод между картами", description = "Переводит деньги между картами одного пользователя. " +
+            "Повторный запрос с тем же заголовком Idempotency-Key возвращает сохраненный результат без повторного перевода. " +
+            "В асинхронном режиме перевод ставится в очередь и возвращается его идентификатор")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Перевод выполнен успешно"),
+            @ApiResponse(responseCode = "202", description = "Перевод принят в очередь (асинхронный режим)"),
             @ApiResponse(responseCode = "400", description = "Недостаточно средств или некорректные данные"),
-            @ApiResponse(responseCode = "404", description = "Одна из карт не найдена")
+            @ApiResponse(responseCode = "404", description = "Одна из карт не найдена"),
+            @ApiResponse(responseCode = "409", description = "Запрос с этим Idempotency-Key еще выполняется")
     })
-    public ResponseEntity<String> transferMoney(
+    public ResponseEntity<?> transferMoney(
             @Valid @RequestBody TransferRequest request,
+            @Parameter(description = "Ключ идемпотентности, до 100 символов")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Authentication authentication) {
         
         try {
-            cardService.transferMoney(
-                    request.fromCardId(),
-                    request.toCardId(),
-                    request.amount(),
-                    authentication.getName()
-            );
-            return ResponseEntity.ok("Transfer completed successfully");
+            String username = authentication.getName();
+            if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > 100)) {
+                return ResponseEntity.badRequest().body("Idempotency-Key must be 1 to 100 characters long");
+            }
+
+            Supplier<String> action = asyncTransferService.isEnabled()
+                    ? () -> asyncTransferService.submit(request.fromCardId(), request.toCardId(), request.amount(), username).toString()
+                    : () -> transfer(request, username);
+            String result = idempotencyKey == null
+                    ? action.get()
+                    : idempotencyService.execute(username, idempotencyKey, fingerprint(request), action);
+
+            if (asyncTransferService.isEnabled()) {
+                return ResponseEntity.accepted().body(asyncTransferService.getStatus(UUID.fromString(result), username));
+            }
+            return ResponseEntity.ok(result);
+        } catch (IdempotencyKeyInProgressException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/transfers/{transferId}")
+    @Operation(summary = "Статус перевода", description = "Возвращает статус перевода, принятого в асинхронном режиме")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Статус получен"),
+            @ApiResponse(responseCode = "404", description = "Перевод не найден")
+    })
+    public ResponseEntity<TransferStatusResponse> getTransferStatus(
+            @Parameter(description = "ID перевода") @PathVariable UUID transferId,
+            Authentication authentication) {
+
+        try {
+            return ResponseEntity.ok(asyncTransferService.getStatus(transferId, authentication.getName()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private String transfer(TransferRequest request, String username) {
+        cardService.transferMoney(
+                request.fromCardId(),
+                request.toCardId(),
+                request.amount(),
+                username
+        );
+        return "Transfer completed successfully";
+    }
+
+    private String fingerprint(TransferRequest request) {
+        return request.fromCardId() + ":" + request.toCardId() + ":" + request.amount().stripTrailingZeros().toPlainString();
+    }
+
+    @PostMapping("/transfer/batch")
+    @Operation(summary = "Пакетный перевод между картами", description = "Выполняет список переводов между картами пользователя в одной транзакции и возвращает результат по каждому переводу")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Пакет обработан, результаты по каждому переводу в ответе"),
+            @ApiResponse(responseCode = "400", description = "Некорректные данные или превышен размер пакета")
+    })
+    public ResponseEntity<?> transferMoneyBatch(
+            @Valid @RequestBody BatchTransferRequest request,
+            Authentication authentication) {
+
+        try {
+            BatchTransferResponse response = batchTransferService.transferAll(request.transfers(), authentication.getName());
+            return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
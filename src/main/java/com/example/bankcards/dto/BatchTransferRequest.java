@@ -0,0 +1,11 @@
+package com.example.bankcards.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record BatchTransferRequest(
+        @NotEmpty(message = "Transfers list must not be empty")
+        List<@Valid TransferRequest> transfers
+) {}
@@ -0,0 +1,10 @@
+package com.example.bankcards.dto;
+
+public record CardIssueResult(
+        long line,
+        String username,
+        String cardHolder,
+        boolean success,
+        String maskedCardNumber,
+        String error
+) {}
@@ -1,6 +1,7 @@
 package com.example.bankcards.dto;
 
 import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardTransaction;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -12,9 +13,21 @@ public class CardMapper {
                 card.getMaskedCardNumber(),
                 card.getCardHolder(),
                 card.getExpiryDate(),
-                card.getStatus(),
+                card.getEffectiveStatus(),
                 card.getBalance(),
                 card.getCreatedAt()
         );
     }
+
+    public CardTransactionResponse toTransactionResponse(CardTransaction transaction) {
+        return new CardTransactionResponse(
+                transaction.getId(),
+                transaction.getTransferId(),
+                transaction.getCardId(),
+                transaction.getCounterpartyCardId(),
+                transaction.getType(),
+                transaction.getAmount(),
+                transaction.getCreatedAt()
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record CardTransactionResponse(
+        Long id,
+        UUID transferId,
+        Long cardId,
+        Long counterpartyCardId,
+        TransactionType type,
+        BigDecimal amount,
+        LocalDateTime createdAt
+) {}
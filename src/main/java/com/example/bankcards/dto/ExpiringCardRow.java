@@ -0,0 +1,14 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.entity.CardStatus;
+
+import java.time.LocalDate;
+
+public record ExpiringCardRow(
+        Long id,
+        String maskedCardNumber,
+        String cardHolder,
+        LocalDate expiryDate,
+        CardStatus status,
+        String owner
+) {}
@@ -0,0 +1,7 @@
+package com.example.bankcards.dto;
+
+public record ExpirySweepResult(
+        long expiredCards,
+        int chunks,
+        long elapsedMs
+) {}
@@ -0,0 +1,15 @@
+package com.example.bankcards.dto;
+
+import java.time.LocalDateTime;
+
+public record JobStatusResponse(
+        String jobName,
+        String lockedBy,
+        LocalDateTime lockedUntil,
+        String lastRunBy,
+        LocalDateTime lastStartedAt,
+        LocalDateTime lastFinishedAt,
+        Long lastProcessed,
+        Long lastElapsedMs,
+        String lastError
+) {}
@@ -0,0 +1,12 @@
+package com.example.bankcards.dto;
+
+import java.math.BigDecimal;
+
+public record TransferResult(
+        int index,
+        Long fromCardId,
+        Long toCardId,
+        BigDecimal amount,
+        boolean success,
+        String error
+) {}
@@ -0,0 +1,18 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.entity.TransferStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TransferStatusResponse(
+        UUID id,
+        TransferStatus status,
+        Long fromCardId,
+        Long toCardId,
+        BigDecimal amount,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt
+) {}
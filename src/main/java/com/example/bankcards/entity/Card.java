@@ -22,6 +22,9 @@ public class Card {
     
     @Column(name = "encrypted_card_number", nullable = false, unique = true)
     private String encryptedCardNumber;
+
+    @Column(name = "card_number_hash", unique = true, length = 64)
+    private String cardNumberHash;
     
     @Column(name = "masked_card_number", nullable = false, length = 19)
     private String maskedCardNumber;
@@ -46,6 +49,10 @@ public class Card {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Card() {
         this.createdAt = LocalDateTime.now();
         this.balance = BigDecimal.ZERO;
@@ -61,4 +68,11 @@ public class Card {
         this.expiryDate = expiryDate;
         this.owner = owner;
     }
-}
\ No newline at end of file
+
+    public CardStatus getEffectiveStatus() {
+        if (expiryDate != null && expiryDate.isBefore(LocalDate.now())) {
+            return CardStatus.EXPIRED;
+        }
+        return status;
+    }
+}
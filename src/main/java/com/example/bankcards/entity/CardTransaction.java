@@ -0,0 +1,54 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "card_transactions")
+@Getter
+@Setter
+public class CardTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "card_transactions_seq")
+    @SequenceGenerator(name = "card_transactions_seq", sequenceName = "card_transactions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "transfer_id", nullable = false)
+    private UUID transferId;
+
+    @Column(name = "card_id", nullable = false)
+    private Long cardId;
+
+    @Column(name = "counterparty_card_id", nullable = false)
+    private Long counterpartyCardId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TransactionType type;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public CardTransaction() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public CardTransaction(UUID transferId, Long cardId, Long counterpartyCardId,
+                           TransactionType type, BigDecimal amount) {
+        this();
+        this.transferId = transferId;
+        this.cardId = cardId;
+        this.counterpartyCardId = counterpartyCardId;
+        this.type = type;
+        this.amount = amount;
+    }
+}
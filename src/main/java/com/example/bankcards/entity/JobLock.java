@@ -0,0 +1,52 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_locks")
+@Getter
+@Setter
+public class JobLock {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_run_by")
+    private String lastRunBy;
+
+    @Column(name = "last_started_at")
+    private LocalDateTime lastStartedAt;
+
+    @Column(name = "last_finished_at")
+    private LocalDateTime lastFinishedAt;
+
+    @Column(name = "last_processed")
+    private Long lastProcessed;
+
+    @Column(name = "last_elapsed_ms")
+    private Long lastElapsedMs;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "checkpoint")
+    private String checkpoint;
+
+    public JobLock() {
+    }
+
+    public JobLock(String jobName) {
+        this.jobName = jobName;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revoked access token, or with a null {@code jti} every token of the user issued up to {@code revokedAt}.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Getter
+@Setter
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, length = 64)
+    private String jti;
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public RevokedToken() {
+        this.revokedAt = LocalDateTime.now();
+    }
+
+    public RevokedToken(String jti, String username, LocalDateTime expiresAt) {
+        this();
+        this.jti = jti;
+        this.username = username;
+        this.expiresAt = expiresAt;
+    }
+}
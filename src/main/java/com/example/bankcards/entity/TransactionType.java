@@ -0,0 +1,6 @@
+package com.example.bankcards.entity;
+
+public enum TransactionType {
+    DEBIT,
+    CREDIT
+}
@@ -0,0 +1,64 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "transfers")
+@Getter
+@Setter
+public class TransferRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transfers_seq")
+    @SequenceGenerator(name = "transfers_seq", sequenceName = "transfers_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "transfer_id", nullable = false, unique = true)
+    private UUID transferId;
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    @Column(name = "from_card_id", nullable = false)
+    private Long fromCardId;
+
+    @Column(name = "to_card_id", nullable = false)
+    private Long toCardId;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransferStatus status;
+
+    @Column(length = 255)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public TransferRecord() {
+    }
+
+    public TransferRecord(UUID transferId, String username, Long fromCardId, Long toCardId, BigDecimal amount,
+                          TransferStatus status, String error, LocalDateTime createdAt) {
+        this.transferId = transferId;
+        this.username = username;
+        this.fromCardId = fromCardId;
+        this.toCardId = toCardId;
+        this.amount = amount;
+        this.status = status;
+        this.error = error;
+        this.createdAt = createdAt;
+    }
+}
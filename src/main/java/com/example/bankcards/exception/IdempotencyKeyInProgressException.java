@@ -0,0 +1,8 @@
+package com.example.bankcards.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String idempotencyKey) {
+        super("Request with idempotency key '" + idempotencyKey + "' is still being processed");
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.bankcards.exception;
+
+public class LeaseLostException extends RuntimeException {
+
+    public LeaseLostException(String jobName) {
+        super("Lease on job " + jobName + " was lost");
+    }
+}
@@ -1,16 +1,26 @@
 package com.example.bankcards.repository;
 
+import com.example.bankcards.dto.ExpiringCardRow;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
 import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CardRepository extends JpaRepository<Card, Long> {
@@ -19,14 +29,79 @@ public interface CardRepository extends JpaRepository<Card, Long> {
 
     List<Card> findByOwnerIdAndStatus(Long ownerId, CardStatus status);
 
-    boolean existsByEncryptedCardNumber(String encryptedCardNumber);
+    boolean existsByCardNumberHash(String cardNumberHash);
     
-    Optional<Card> findByEncryptedCardNumber(String encryptedCardNumber);
-    
-    @Query("SELECT c FROM Card c WHERE c.owner.id = :ownerId AND c.status = 'ACTIVE' ORDER BY c.createdAt DESC")
+    Optional<Card> findByCardNumberHash(String cardNumberHash);
+
+    @Query("SELECT c.cardNumberHash FROM Card c WHERE c.cardNumberHash IN :hashes")
+    List<String> findExistingCardNumberHashes(@Param("hashes") Collection<String> hashes);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "10000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT c.cardNumberHash FROM Card c WHERE c.cardNumberHash IS NOT NULL")
+    Stream<String> streamCardNumberHashes();
+
+    @Query("SELECT c FROM Card c WHERE c.owner.id = :ownerId AND c.status = 'ACTIVE' AND c.expiryDate >= CURRENT_DATE " +
+            "ORDER BY c.createdAt DESC")
     List<Card> findActiveCardsByOwner(@Param("ownerId") Long ownerId);
     
     long countByOwnerId(Long ownerId);
+
+    @Query("SELECT c.owner.id, COUNT(c) FROM Card c WHERE c.owner.id IN :ownerIds GROUP BY c.owner.id")
+    List<Object[]> countByOwnerIds(@Param("ownerIds") Collection<Long> ownerIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("SELECT c FROM Card c WHERE c.id = :id")
+    Optional<Card> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("SELECT c FROM Card c WHERE c.id IN :ids ORDER BY c.id")
+    List<Card> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE cards SET balance = balance - :amount, version = version + 1 " +
+            "WHERE id = :id AND owner_id = (SELECT u.id FROM users u WHERE u.username = :username) " +
+            "AND status = 'ACTIVE' AND expiry_date >= CURRENT_DATE AND balance >= :amount", nativeQuery = true)
+    int debitIfAllowed(@Param("id") Long id, @Param("username") String username, @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE cards SET balance = balance + :amount, version = version + 1 " +
+            "WHERE id = :id AND owner_id = (SELECT u.id FROM users u WHERE u.username = :username) " +
+            "AND status = 'ACTIVE' AND expiry_date >= CURRENT_DATE", nativeQuery = true)
+    int creditIfAllowed(@Param("id") Long id, @Param("username") String username, @Param("amount") BigDecimal amount);
+
+    @Query("SELECT MIN(c.id) FROM Card c")
+    Long findMinId();
+
+    @Query("SELECT MAX(c.id) FROM Card c")
+    Long findMaxId();
+
+    @Modifying
+    @Query("UPDATE Card c SET c.status = 'EXPIRED', c.version = c.version + 1 " +
+            "WHERE c.id >= :fromId AND c.id < :toId AND c.expiryDate < :today AND c.status <> 'EXPIRED'")
+    int expireCardsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("today") LocalDate today);
+
+    @Query("SELECT c.id FROM Card c WHERE c.expiryDate >= :from AND c.expiryDate < :today AND c.status <> 'EXPIRED' " +
+            "ORDER BY c.id")
+    List<Long> findExpiringIds(@Param("from") LocalDate from, @Param("today") LocalDate today, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Card c SET c.status = 'EXPIRED', c.version = c.version + 1 " +
+            "WHERE c.id IN :ids AND c.expiryDate < :today AND c.status <> 'EXPIRED'")
+    int expireCardsByIds(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.example.bankcards.dto.ExpiringCardRow(c.id, c.maskedCardNumber, c.cardHolder, c.expiryDate, " +
+            "c.status, o.username) FROM Card c JOIN c.owner o " +
+            "WHERE c.expiryDate BETWEEN CURRENT_DATE AND :until ORDER BY c.expiryDate, c.id")
+    Stream<ExpiringCardRow> streamCardsExpiringBefore(@Param("until") LocalDate until);
    
     @Query("SELECT c FROM Card c WHERE c.owner.id = :ownerId AND c.expiryDate BETWEEN CURRENT_DATE AND :expiryDate")
     List<Card> findCardsExpiringBefore(@Param("ownerId") Long ownerId, @Param("expiryDate") java.time.LocalDate expiryDate);
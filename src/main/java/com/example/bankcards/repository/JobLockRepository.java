@@ -0,0 +1,26 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    @Modifying
+    @Query("UPDATE JobLock j SET j.lockedBy = :owner, j.lockedUntil = :until " +
+            "WHERE j.jobName = :jobName AND (j.lockedUntil IS NULL OR j.lockedUntil < :now OR j.lockedBy = :owner)")
+    int tryAcquire(@Param("jobName") String jobName, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE JobLock j SET j.lockedUntil = :until " +
+            "WHERE j.jobName = :jobName AND j.lockedBy = :owner AND j.lockedUntil >= :now")
+    int renew(@Param("jobName") String jobName, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+}
@@ -0,0 +1,24 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.TransferRecord;
+import com.example.bankcards.entity.TransferStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TransferRecordRepository extends JpaRepository<TransferRecord, Long> {
+
+    Optional<TransferRecord> findByTransferId(UUID transferId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<TransferRecord> findByTransferIdInAndStatus(Collection<UUID> transferIds, TransferStatus status);
+
+    List<TransferRecord> findByStatusOrderByCreatedAtAsc(TransferStatus status);
+}
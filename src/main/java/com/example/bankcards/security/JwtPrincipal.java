@@ -0,0 +1,15 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.entity.Role;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.time.Instant;
+
+public record JwtPrincipal(Long userId, String username, Role role,
+                           String tokenId, Instant issuedAt, Instant expiresAt) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
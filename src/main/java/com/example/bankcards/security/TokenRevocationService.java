@@ -0,0 +1,141 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.entity.RevokedToken;
+import com.example.bankcards.repository.RevokedTokenRepository;
+import com.example.bankcards.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.expiration:900000}")
+    private long tokenLifetimeMs = 900000;
+
+    @Value("${jwt.revocation.sync-overlap:1m}")
+    private Duration syncOverlap = Duration.ofMinutes(1);
+
+    // jti -> token expiry, epoch millis
+    private final ConcurrentMap<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+    // username -> tokens issued at or before this instant are revoked, epoch millis
+    private final ConcurrentMap<String, Long> revokedBefore = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSync;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("jwt.revoked.tokens", this, s -> s.revokedTokenIds.size() + s.revokedBefore.size())
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(JwtPrincipal principal) {
+        if (principal.tokenId() != null && revokedTokenIds.containsKey(principal.tokenId())) {
+            return true;
+        }
+        Long cutoff = revokedBefore.get(principal.username());
+        // iat has second precision, so a token issued in the same second as the cutoff counts as revoked
+        return cutoff != null && principal.issuedAt() != null && principal.issuedAt().toEpochMilli() <= cutoff;
+    }
+
+    @Transactional
+    public void revoke(JwtPrincipal principal) {
+        if (principal.tokenId() == null) {
+            throw new RuntimeException("Token has no id and cannot be revoked individually");
+        }
+        RevokedToken token = new RevokedToken(principal.tokenId(), principal.username(),
+                toLocalDateTime(principal.expiresAt()));
+        revokedTokenRepository.save(token);
+        applyAfterCommit(token);
+    }
+
+    @Transactional
+    public void revokeAll(String username) {
+        if (!userRepository.existsByUsername(username)) {
+            throw new RuntimeException("User not found: " + username);
+        }
+        RevokedToken token = new RevokedToken(null, username, null);
+        token.setExpiresAt(token.getRevokedAt().plus(Duration.ofMillis(tokenLifetimeMs)));
+        revokedTokenRepository.save(token);
+        applyAfterCommit(token);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> tokens = lastSync == null
+                ? revokedTokenRepository.findByExpiresAtAfter(now)
+                : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(lastSync.minus(syncOverlap), now);
+        tokens.forEach(this::apply);
+        lastSync = now;
+
+        long nowMillis = System.currentTimeMillis();
+        revokedTokenIds.values().removeIf(expiresAt -> expiresAt < nowMillis);
+        revokedBefore.values().removeIf(cutoff -> cutoff + tokenLifetimeMs < nowMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired token revocations", deleted);
+        }
+    }
+
+    private void applyAfterCommit(RevokedToken token) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(token);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(token);
+            }
+        });
+    }
+
+    private void apply(RevokedToken token) {
+        if (token.getJti() != null) {
+            revokedTokenIds.put(token.getJti(), toEpochMilli(token.getExpiresAt()));
+        } else {
+            revokedBefore.merge(token.getUsername(), toEpochMilli(token.getRevokedAt()), Math::max);
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.TransferResult;
+import com.example.bankcards.dto.TransferStatusResponse;
+import com.example.bankcards.entity.TransferRecord;
+import com.example.bankcards.entity.TransferStatus;
+import com.example.bankcards.repository.TransferRecordRepository;
+import com.example.bankcards.util.WorkerPool;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shards are keyed by username and both cards of a transfer belong to the same user,
+ * so every transfer touching a card is applied by the same writer thread.
+ */
+@Service
+public class AsyncTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncTransferService.class);
+
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private TransferRecordRepository transferRecordRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${transfer.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${transfer.async.shards:8}")
+    private int shardCount;
+
+    @Value("${transfer.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${transfer.async.group-size:50}")
+    private int groupSize;
+
+    @Value("${transfer.async.shutdown-timeout:30s}")
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    private final List<BlockingQueue<QueuedTransfer>> shards = new ArrayList<>();
+    private ExecutorService writers;
+    private TransactionTemplate transactionTemplate;
+    private volatile boolean stopping;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        writers = Executors.newFixedThreadPool(shardCount, WorkerPool.daemonThreads("transfer-shard"));
+        for (int i = 0; i < shardCount; i++) {
+            BlockingQueue<QueuedTransfer> queue = new ArrayBlockingQueue<>(queueCapacity);
+            shards.add(queue);
+            writers.submit(() -> drain(queue));
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writers == null) {
+            return;
+        }
+        stopping = true;
+        writers.shutdown();
+        if (!writers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            writers.shutdownNow();
+            int queued = shards.stream().mapToInt(BlockingQueue::size).sum();
+            log.warn("{} queued transfers were not applied before shutdown and stay PENDING until restart", queued);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPending() {
+        if (!enabled) {
+            return;
+        }
+        List<TransferRecord> records = transferRecordRepository.findByStatusOrderByCreatedAtAsc(TransferStatus.PENDING);
+        try {
+            for (TransferRecord record : records) {
+                QueuedTransfer transfer = new QueuedTransfer(record.getTransferId(), record.getUsername(),
+                        record.getFromCardId(), record.getToCardId(), record.getAmount(), record.getCreatedAt());
+                shardOf(transfer.username()).put(transfer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!records.isEmpty()) {
+            log.info("Requeued {} pending transfers", records.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public UUID submit(Long fromCardId, Long toCardId, BigDecimal amount, String username) {
+        if (!enabled) {
+            throw new RuntimeException("Asynchronous transfers are disabled");
+        }
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new RuntimeException("Transfer amount must be positive");
+        }
+
+        if (stopping) {
+            throw new RuntimeException("Transfer service is shutting down, please retry later");
+        }
+        BlockingQueue<QueuedTransfer> shard = shardOf(username);
+        if (shard.remainingCapacity() == 0) {
+            throw new RuntimeException("Transfer queue is full, please retry later");
+        }
+
+        QueuedTransfer transfer = new QueuedTransfer(UUID.randomUUID(), username, fromCardId, toCardId, amount, LocalDateTime.now());
+        TransferRecord record = transactionTemplate.execute(status -> transferRecordRepository.save(new TransferRecord(
+                transfer.id(), username, fromCardId, toCardId, amount, TransferStatus.PENDING, null, transfer.createdAt())));
+        if (!shard.offer(transfer)) {
+            record.setStatus(TransferStatus.FAILED);
+            record.setError("Transfer queue is full");
+            record.setCompletedAt(LocalDateTime.now());
+            transactionTemplate.executeWithoutResult(status -> transferRecordRepository.save(record));
+            throw new RuntimeException("Transfer queue is full, please retry later");
+        }
+        return transfer.id();
+    }
+
+    public TransferStatusResponse getStatus(UUID transferId, String username) {
+        TransferRecord record = transferRecordRepository.findByTransferId(transferId)
+                .filter(r -> r.getUsername().equals(username))
+                .orElseThrow(() -> new RuntimeException("Transfer not found"));
+        return new TransferStatusResponse(record.getTransferId(), record.getStatus(), record.getFromCardId(),
+                record.getToCardId(), record.getAmount(), record.getError(), record.getCreatedAt(), record.getCompletedAt());
+    }
+
+    private BlockingQueue<QueuedTransfer> shardOf(String username) {
+        return shards.get(Math.floorMod(username.hashCode(), shardCount));
+    }
+
+    private void drain(BlockingQueue<QueuedTransfer> queue) {
+        List<QueuedTransfer> group = new ArrayList<>(groupSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                QueuedTransfer first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (stopping) {
+                        return;
+                    }
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, groupSize - 1);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Failed to record outcome of {} transfers, they stay PENDING until restart", group.size(), e);
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<QueuedTransfer> group) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(group));
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} transfers failed, applying them one by one", group.size(), e);
+            for (QueuedTransfer transfer : group) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> apply(List.of(transfer)));
+                } catch (RuntimeException single) {
+                    fail(transfer, single.getMessage());
+                }
+            }
+        }
+    }
+
+    private void fail(QueuedTransfer transfer, String error) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> complete(
+                    lockPending(List.of(transfer)).get(transfer.id()), false, error));
+        } catch (RuntimeException e) {
+            log.error("Failed to record outcome of transfer {}, it stays PENDING until restart", transfer.id(), e);
+        }
+    }
+
+    private void apply(List<QueuedTransfer> group) {
+        Map<UUID, TransferRecord> records = lockPending(group);
+        List<QueuedTransfer> open = group.stream()
+                .filter(transfer -> records.containsKey(transfer.id()))
+                .toList();
+        if (open.isEmpty()) {
+            return;
+        }
+        List<TransferResult> results = batchTransferService.applyQueued(open);
+        for (int i = 0; i < open.size(); i++) {
+            complete(records.get(open.get(i).id()), results.get(i).success(), results.get(i).error());
+        }
+        transferRecordRepository.saveAll(records.values());
+    }
+
+    // locks the transfers' rows that are still PENDING, so a transfer queued twice is applied once
+    private Map<UUID, TransferRecord> lockPending(List<QueuedTransfer> group) {
+        List<UUID> ids = group.stream().map(QueuedTransfer::id).toList();
+        Map<UUID, TransferRecord> records = new HashMap<>();
+        transferRecordRepository.findByTransferIdInAndStatus(ids, TransferStatus.PENDING)
+                .forEach(record -> records.put(record.getTransferId(), record));
+        return records;
+    }
+
+    private void complete(TransferRecord record, boolean success, String error) {
+        if (record == null) {
+            return;
+        }
+        if (error != null && error.length() > 255) {
+            error = error.substring(0, 255);
+        }
+        record.setStatus(success ? TransferStatus.COMPLETED : TransferStatus.FAILED);
+        record.setError(error);
+        record.setCompletedAt(LocalDateTime.now());
+    }
+}
@@ -6,13 +6,13 @@ import com.example.bankcards.dto.RegisterRequest;
 import com.example.bankcards.entity.Role;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.JwtPrincipal;
 import com.example.bankcards.security.JwtUtil;
+import com.example.bankcards.security.TokenRevocationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,7 +34,7 @@ public class AuthService {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private TokenRevocationService tokenRevocationService;
 
     public String registerUser(RegisterRequest request) {
         if (userRepository.existsByUsername(request.username())) {
@@ -64,14 +64,18 @@ public class AuthService {
                 )
         );
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.username());
-        String token = jwtUtil.generateToken(userDetails);
-
         User user = userRepository.findByUsername(request.username())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        String token = jwtUtil.generateToken(user);
+
         return new LoginResponse(token, user.getUsername(), user.getRole());
     }
 
+    public String logout(JwtPrincipal principal) {
+        tokenRevocationService.revoke(principal);
+        return "Logged out successfully";
+    }
+
 
 }
\ No newline at end of file
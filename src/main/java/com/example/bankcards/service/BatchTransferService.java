@@ -0,0 +1,150 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.BatchTransferResponse;
+import com.example.bankcards.dto.TransferRequest;
+import com.example.bankcards.dto.TransferResult;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Every card in the batch is locked up front in ascending id order, before any move is applied.
+ */
+@Service
+public class BatchTransferService {
+
+    private static final int LOCK_CHUNK_SIZE = 1000;
+    private static final Long UNKNOWN_OWNER = -1L;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransferLedger transferLedger;
+
+    @Value("${transfer.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    @Transactional
+    public BatchTransferResponse transferAll(List<TransferRequest> transfers, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        return toResponse(execute(transfers, i -> user.getId(), i -> null));
+    }
+
+    @Transactional
+    public BatchTransferResponse transferAllAsAdmin(List<TransferRequest> transfers) {
+        return toResponse(execute(transfers, i -> null, i -> null));
+    }
+
+    @Transactional
+    public List<TransferResult> applyQueued(List<QueuedTransfer> queued) {
+        Set<String> usernames = new HashSet<>();
+        List<TransferRequest> transfers = new ArrayList<>(queued.size());
+        for (QueuedTransfer transfer : queued) {
+            usernames.add(transfer.username());
+            transfers.add(new TransferRequest(transfer.fromCardId(), transfer.toCardId(), transfer.amount()));
+        }
+
+        Map<String, Long> ownerIds = new HashMap<>();
+        userRepository.findByUsernameIn(usernames).forEach(user -> ownerIds.put(user.getUsername(), user.getId()));
+
+        return execute(transfers,
+                i -> ownerIds.getOrDefault(queued.get(i).username(), UNKNOWN_OWNER),
+                i -> queued.get(i).id());
+    }
+
+    private List<TransferResult> execute(List<TransferRequest> transfers, IntFunction<Long> ownerOf,
+                                         IntFunction<UUID> transferIdOf) {
+        if (transfers.size() > maxBatchSize) {
+            throw new RuntimeException("Batch size exceeds the limit of " + maxBatchSize + " transfers");
+        }
+
+        Map<Long, Card> cards = lockCards(transfers);
+        List<TransferResult> results = new ArrayList<>(transfers.size());
+
+        for (int i = 0; i < transfers.size(); i++) {
+            TransferRequest transfer = transfers.get(i);
+            try {
+                apply(transfer, cards, ownerOf.apply(i), transferIdOf.apply(i));
+                results.add(new TransferResult(i, transfer.fromCardId(), transfer.toCardId(), transfer.amount(), true, null));
+            } catch (RuntimeException e) {
+                results.add(new TransferResult(i, transfer.fromCardId(), transfer.toCardId(), transfer.amount(), false, e.getMessage()));
+            }
+        }
+
+        return results;
+    }
+
+    private BatchTransferResponse toResponse(List<TransferResult> results) {
+        int succeeded = (int) results.stream().filter(TransferResult::success).count();
+        return new BatchTransferResponse(succeeded, results.size() - succeeded, results);
+    }
+
+    private Map<Long, Card> lockCards(List<TransferRequest> transfers) {
+        TreeSet<Long> ids = new TreeSet<>();
+        for (TransferRequest transfer : transfers) {
+            ids.add(transfer.fromCardId());
+            ids.add(transfer.toCardId());
+        }
+
+        Map<Long, Card> cards = new HashMap<>(ids.size() * 2);
+        List<Long> chunk = new ArrayList<>(LOCK_CHUNK_SIZE);
+        for (Long id : ids) {
+            chunk.add(id);
+            if (chunk.size() == LOCK_CHUNK_SIZE) {
+                cardRepository.findAllByIdInForUpdate(List.copyOf(chunk)).forEach(card -> cards.put(card.getId(), card));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            cardRepository.findAllByIdInForUpdate(List.copyOf(chunk)).forEach(card -> cards.put(card.getId(), card));
+        }
+        return cards;
+    }
+
+    private void apply(TransferRequest transfer, Map<Long, Card> cards, Long ownerId, UUID transferId) {
+        if (transfer.amount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new RuntimeException("Transfer amount must be positive");
+        }
+
+        Card fromCard = cards.get(transfer.fromCardId());
+        Card toCard = cards.get(transfer.toCardId());
+        if (fromCard == null || toCard == null) {
+            throw new RuntimeException("Card not found");
+        }
+
+        if (ownerId != null
+                && (!ownerId.equals(fromCard.getOwner().getId()) || !ownerId.equals(toCard.getOwner().getId()))) {
+            throw new RuntimeException("Access denied");
+        }
+
+        TransferRules.checkMovable(fromCard, toCard, transfer.amount());
+        TransferRules.move(fromCard, toCard, transfer.amount());
+        if (transferId != null) {
+            transferLedger.record(transferId, transfer.fromCardId(), transfer.toCardId(), transfer.amount());
+        } else {
+            transferLedger.record(transfer.fromCardId(), transfer.toCardId(), transfer.amount());
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CardIssueResult;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.util.CardNumberGenerator;
+import com.example.bankcards.util.EncryptionService;
+import com.example.bankcards.util.WorkerPool;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class BulkCardIssuanceService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(BulkCardIssuanceService.class);
+
+    private static final String INSERT_CARD = "INSERT INTO cards (encrypted_card_number, card_number_hash, "
+            + "masked_card_number, card_holder, expiry_date, status, balance, owner_id, created_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, 'ACTIVE', 0, ?, ?, 0)";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CardNumberGenerator cardNumberGenerator;
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Autowired
+    private IssuedCardNumberFilter issuedCardNumberFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${card-issue.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${card-issue.workers:4}")
+    private int workerCount;
+
+    private WorkerPool workers;
+
+    @PostConstruct
+    void init() {
+        workers = new WorkerPool("card-issue", workerCount);
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdownNow();
+    }
+
+    public long issue(InputStream in, Format format, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long issued = 0;
+        long lineNumber = 0;
+        List<Row> batch = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && format == Format.CSV && isCsvHeader(line))) {
+                continue;
+            }
+            batch.add(parse(lineNumber, line, format));
+            if (batch.size() == batchSize) {
+                issued += issueBatch(batch, transactionTemplate, writer);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            issued += issueBatch(batch, transactionTemplate, writer);
+        }
+        writer.flush();
+        return issued;
+    }
+
+    private long issueBatch(List<Row> batch, TransactionTemplate transactionTemplate, Writer writer) throws IOException {
+        Map<Long, String> errors = new HashMap<>();
+        List<NewCard> cards = prepare(resolveOwners(batch, errors));
+
+        Map<Long, NewCard> inserted = new HashMap<>();
+        try {
+            transactionTemplate.execute(status -> insertWithinLimits(cards))
+                    .forEach(card -> inserted.put(card.row().line(), card));
+        } catch (RuntimeException e) {
+            log.warn("Batch insert of {} cards failed, inserting them one by one", cards.size(), e);
+            for (NewCard card : cards) {
+                try {
+                    transactionTemplate.execute(status -> insertWithinLimits(List.of(card)))
+                            .forEach(single -> inserted.put(single.row().line(), single));
+                } catch (RuntimeException single) {
+                    errors.put(card.row().line(), "Card could not be issued");
+                }
+            }
+        }
+        inserted.values().forEach(card -> issuedCardNumberFilter.put(card.cardNumberHash()));
+        for (NewCard card : cards) {
+            if (!inserted.containsKey(card.row().line())) {
+                errors.putIfAbsent(card.row().line(), CardService.CARD_LIMIT_REACHED);
+            }
+        }
+
+        for (Row row : batch) {
+            NewCard card = inserted.get(row.line());
+            CardIssueResult result = card != null
+                    ? new CardIssueResult(row.line(), row.username(), row.cardHolder(), true, card.maskedCardNumber(), null)
+                    : new CardIssueResult(row.line(), row.username(), row.cardHolder(), false, null,
+                            errors.getOrDefault(row.line(), "Card could not be issued"));
+            writer.write(objectMapper.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+        return inserted.size();
+    }
+
+    private List<Row> resolveOwners(List<Row> batch, Map<Long, String> errors) {
+        Set<String> usernames = new HashSet<>();
+        for (Row row : batch) {
+            if (row.error() == null) {
+                usernames.add(row.username());
+            }
+        }
+        Map<String, User> users = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            userRepository.findByUsernameIn(usernames).forEach(user -> users.put(user.getUsername(), user));
+        }
+
+        List<Row> resolved = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            if (row.error() != null) {
+                errors.put(row.line(), row.error());
+                continue;
+            }
+            User user = users.get(row.username());
+            if (user == null) {
+                errors.put(row.line(), "User not found: " + row.username());
+                continue;
+            }
+            resolved.add(row.withOwnerId(user.getId()));
+        }
+        return resolved;
+    }
+
+    /**
+     * Locks the owners' user rows before counting, so concurrent bulk or single issuance for an owner waits for this batch.
+     */
+    private List<NewCard> insertWithinLimits(List<NewCard> cards) {
+        if (cards.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> ownerIds = new HashSet<>();
+        cards.forEach(card -> ownerIds.add(card.row().ownerId()));
+        userRepository.findAllByIdInForUpdate(ownerIds);
+
+        Map<Long, Long> cardCounts = new HashMap<>();
+        for (Object[] count : cardRepository.countByOwnerIds(ownerIds)) {
+            cardCounts.put((Long) count[0], (Long) count[1]);
+        }
+
+        List<NewCard> accepted = new ArrayList<>(cards.size());
+        for (NewCard card : cards) {
+            if (cardCounts.merge(card.row().ownerId(), 1L, Long::sum) <= CardService.MAX_CARDS_PER_USER) {
+                accepted.add(card);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            insert(accepted);
+        }
+        return accepted;
+    }
+
+    private List<NewCard> prepare(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Set<String> batchHashes = ConcurrentHashMap.newKeySet();
+        List<NewCard> cards = workers.mapSlices(rows, slice -> {
+            List<String> cardNumbers = cardNumberGenerator.generateCardNumbers(slice.size());
+            List<NewCard> prepared = new ArrayList<>(slice.size());
+            for (int i = 0; i < slice.size(); i++) {
+                NewCard card = newCard(slice.get(i), cardNumbers.get(i), batchHashes, false);
+                prepared.add(card != null ? card : newCard(slice.get(i), batchHashes, false));
+            }
+            return prepared;
+        });
+
+        List<String> possibleHits = cards.stream()
+                .map(NewCard::cardNumberHash)
+                .filter(issuedCardNumberFilter::mightContain)
+                .toList();
+        if (!possibleHits.isEmpty()) {
+            Set<String> taken = new HashSet<>(cardRepository.findExistingCardNumberHashes(possibleHits));
+            for (int i = 0; i < cards.size(); i++) {
+                if (taken.contains(cards.get(i).cardNumberHash())) {
+                    cards.set(i, newCard(cards.get(i).row(), batchHashes, true));
+                }
+            }
+        }
+        return cards;
+    }
+
+    private NewCard newCard(Row row, Set<String> batchHashes, boolean checkIssued) {
+        for (int attempt = 0; attempt < 10; attempt++) {
+            NewCard card = newCard(row, cardNumberGenerator.generateCardNumber(), batchHashes, checkIssued);
+            if (card != null) {
+                return card;
+            }
+        }
+        throw new RuntimeException("Unable to generate unique card number after 10 attempts");
+    }
+
+    private NewCard newCard(Row row, String cardNumber, Set<String> batchHashes, boolean checkIssued) {
+        String hash = encryptionService.hash(cardNumber);
+        if (!batchHashes.add(hash)
+                || (checkIssued && issuedCardNumberFilter.mightContain(hash) && cardRepository.existsByCardNumberHash(hash))) {
+            return null;
+        }
+        return new NewCard(row, hash, encryptionService.encrypt(cardNumber),
+                encryptionService.createMask(cardNumber), cardNumberGenerator.generateExpiryDate());
+    }
+
+    private void insert(List<NewCard> cards) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_CARD, cards, cards.size(), (ps, card) -> {
+            ps.setString(1, card.encryptedCardNumber());
+            ps.setString(2, card.cardNumberHash());
+            ps.setString(3, card.maskedCardNumber());
+            ps.setString(4, card.row().cardHolder());
+            ps.setDate(5, Date.valueOf(card.expiryDate()));
+            ps.setLong(6, card.row().ownerId());
+            ps.setTimestamp(7, createdAt);
+        });
+    }
+
+    private Row parse(long lineNumber, String line, Format format) {
+        String username;
+        String cardHolder;
+        try {
+            if (format == Format.NDJSON) {
+                JsonNode node = objectMapper.readTree(line);
+                username = node.path("username").asText(null);
+                cardHolder = node.path("cardHolder").asText(null);
+            } else {
+                List<String> fields = parseCsvLine(line);
+                if (fields.size() != 2) {
+                    return Row.invalid(lineNumber, null, null, "Expected 2 columns: username,cardHolder");
+                }
+                username = fields.get(0);
+                cardHolder = fields.get(1);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            return Row.invalid(lineNumber, null, null, "Malformed row");
+        }
+
+        username = username == null ? null : username.strip();
+        cardHolder = cardHolder == null ? null : cardHolder.strip();
+        if (username == null || username.isEmpty()) {
+            return Row.invalid(lineNumber, username, cardHolder, "Username is required");
+        }
+        if (cardHolder == null || cardHolder.length() < 2 || cardHolder.length() > 100) {
+            return Row.invalid(lineNumber, username, cardHolder, "Card holder name must be between 2 and 100 characters");
+        }
+        return new Row(lineNumber, username, cardHolder, null, null);
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.strip().toLowerCase(Locale.ROOT).startsWith("username,");
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>(2);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record Row(long line, String username, String cardHolder, Long ownerId, String error) {
+
+        static Row invalid(long line, String username, String cardHolder, String error) {
+            return new Row(line, username, cardHolder, null, error);
+        }
+
+        Row withOwnerId(Long ownerId) {
+            return new Row(line, username, cardHolder, ownerId, null);
+        }
+    }
+
+    private record NewCard(Row row, String cardNumberHash, String encryptedCardNumber, String maskedCardNumber,
+                           LocalDate expiryDate) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.ExpirySweepResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+@Component
+public class CardExpiryJob {
+
+    static final String JOB_NAME = "card-expiry";
+
+    private static final Logger log = LoggerFactory.getLogger(CardExpiryJob.class);
+
+    @Autowired
+    private CardExpiryService cardExpiryService;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Value("${expiry.job.lease:10m}")
+    private Duration lease;
+
+    @Value("${expiry.job.zone:}")
+    private String zone = "";
+
+    @Scheduled(cron = "${expiry.job.cron:0 0 3 * * *}", zone = "${expiry.job.zone:}")
+    public void run() {
+        if (!jobLockService.tryAcquire(JOB_NAME, lease)) {
+            log.debug("Card expiry job is running on another instance");
+            return;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDate today = LocalDate.now(zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone));
+        long started = System.nanoTime();
+        try {
+            Optional<LocalDate> cursor = jobLockService.getCheckpoint(JOB_NAME).map(LocalDate::parse);
+            ExpirySweepResult result = cursor.isPresent()
+                    ? cardExpiryService.expireCardsSince(cursor.get(), today, this::renewLease)
+                    : cardExpiryService.expireCards(today, this::renewLease);
+            jobLockService.saveCheckpoint(JOB_NAME, today.toString());
+            jobLockService.release(JOB_NAME, startedAt, result.expiredCards(), result.elapsedMs(), null);
+        } catch (RuntimeException e) {
+            log.error("Card expiry job failed", e);
+            jobLockService.release(JOB_NAME, startedAt, null, (System.nanoTime() - started) / 1_000_000, e.getMessage());
+        }
+    }
+
+    private void renewLease() {
+        jobLockService.renewOrThrow(JOB_NAME, lease);
+    }
+}
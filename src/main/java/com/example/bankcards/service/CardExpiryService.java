@@ -0,0 +1,85 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.ExpirySweepResult;
+import com.example.bankcards.repository.CardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public class CardExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(CardExpiryService.class);
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${expiry.chunk-size:10000}")
+    private long chunkSize;
+
+    public ExpirySweepResult expireCards() {
+        return expireCards(LocalDate.now(), () -> {});
+    }
+
+    public ExpirySweepResult expireCards(LocalDate today, Runnable afterChunk) {
+        long startedAt = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Long minId = cardRepository.findMinId();
+        Long maxId = cardRepository.findMaxId();
+        long expired = 0;
+        int chunks = 0;
+        if (minId != null) {
+            for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+                long lower = fromId;
+                Integer updated = transactionTemplate.execute(status ->
+                        cardRepository.expireCardsInRange(lower, lower + chunkSize, today));
+                expired += updated;
+                chunks++;
+                afterChunk.run();
+            }
+        }
+
+        return result(expired, chunks, startedAt);
+    }
+
+    public ExpirySweepResult expireCardsSince(LocalDate from, LocalDate today, Runnable afterChunk) {
+        long startedAt = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        PageRequest chunk = PageRequest.of(0, (int) chunkSize);
+
+        long expired = 0;
+        int chunks = 0;
+        while (true) {
+            Integer updated = transactionTemplate.execute(status -> {
+                List<Long> ids = cardRepository.findExpiringIds(from, today, chunk);
+                return ids.isEmpty() ? null : cardRepository.expireCardsByIds(ids, today);
+            });
+            if (updated == null) {
+                break;
+            }
+            expired += updated;
+            chunks++;
+            afterChunk.run();
+        }
+
+        return result(expired, chunks, startedAt);
+    }
+
+    private ExpirySweepResult result(long expired, int chunks, long startedAt) {
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Expired {} cards in {} chunks, {} ms", expired, chunks, elapsedMs);
+        return new ExpirySweepResult(expired, chunks, elapsedMs);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.util.EncryptionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class CardNumberHashBackfill {
+
+    static final String JOB_NAME = "card-number-hash-backfill";
+
+    private static final Logger log = LoggerFactory.getLogger(CardNumberHashBackfill.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${encryption.hash-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${encryption.hash-backfill.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${encryption.hash-backfill.lease:10m}")
+    private Duration lease;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    public long backfill() {
+        if (!jobLockService.tryAcquire(JOB_NAME, lease)) {
+            return 0;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long filled = 0;
+        long afterId = 0;
+        try {
+            while (true) {
+                long from = afterId;
+                Chunk chunk = transactionTemplate.execute(status -> fillChunk(from));
+                if (chunk == null || chunk.read() == 0) {
+                    break;
+                }
+                afterId = chunk.lastId();
+                filled += chunk.filled();
+                jobLockService.renewOrThrow(JOB_NAME, lease);
+            }
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            log.info("Card number hash backfill filled {} cards in {} ms", filled, elapsedMs);
+            jobLockService.release(JOB_NAME, startedAt, filled, elapsedMs, null);
+        } catch (RuntimeException e) {
+            log.error("Card number hash backfill failed", e);
+            jobLockService.release(JOB_NAME, startedAt, filled, (System.nanoTime() - started) / 1_000_000, e.getMessage());
+        }
+        return filled;
+    }
+
+    private Chunk fillChunk(long afterId) {
+        List<Row> rows = jdbcTemplate.query(
+                "SELECT id, encrypted_card_number FROM cards WHERE card_number_hash IS NULL AND id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Row(rs.getLong("id"), rs.getString("encrypted_card_number")),
+                afterId, chunkSize);
+        List<Object[]> hashes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            try {
+                hashes.add(new Object[]{encryptionService.hash(encryptionService.decrypt(row.encrypted())), row.id()});
+            } catch (RuntimeException e) {
+                log.warn("Card {} has an unreadable card number, hash not filled", row.id());
+            }
+        }
+        long filled = 0;
+        if (!hashes.isEmpty()) {
+            for (int count : jdbcTemplate.batchUpdate(
+                    "UPDATE cards SET card_number_hash = ? WHERE id = ? AND card_number_hash IS NULL", hashes)) {
+                filled += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        long lastId = rows.isEmpty() ? afterId : rows.get(rows.size() - 1).id();
+        return new Chunk(rows.size(), lastId, filled);
+    }
+
+    private record Row(long id, String encrypted) {
+    }
+
+    private record Chunk(int read, long lastId, long filled) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.util.CardNumberGenerator;
+import com.example.bankcards.util.EncryptionService;
+import com.example.bankcards.util.WorkerPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pooled numbers are not reserved across instances; the unique index on card_number_hash rejects one issued twice.
+ */
+@Component
+public class CardNumberPool {
+
+    private static final Logger log = LoggerFactory.getLogger(CardNumberPool.class);
+
+    @Autowired
+    private CardNumberGenerator cardNumberGenerator;
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private IssuedCardNumberFilter issuedCardNumberFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${card-number-pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${card-number-pool.capacity:1000}")
+    private int capacity;
+
+    @Value("${card-number-pool.low-water-mark:200}")
+    private int lowWaterMark;
+
+    @Value("${card-number-pool.batch-size:100}")
+    private int batchSize;
+
+    private BlockingQueue<Entry> pool;
+    private final Set<String> pooledHashes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private ExecutorService refiller;
+    private Counter refilled;
+    private Counter misses;
+    private Timer refillTimer;
+
+    @PostConstruct
+    void init() {
+        pool = new ArrayBlockingQueue<>(capacity);
+        refiller = Executors.newSingleThreadExecutor(WorkerPool.daemonThreads("card-number-pool-refill"));
+        Gauge.builder("card.number.pool.size", pool, BlockingQueue::size).register(meterRegistry);
+        refilled = meterRegistry.counter("card.number.pool.refilled");
+        misses = meterRegistry.counter("card.number.pool.misses");
+        refillTimer = meterRegistry.timer("card.number.pool.refill");
+    }
+
+    @PreDestroy
+    void stop() {
+        refiller.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRefill();
+    }
+
+    public Optional<Entry> poll() {
+        Entry entry = enabled ? pool.poll() : null;
+        if (entry != null) {
+            pooledHashes.remove(entry.cardNumberHash());
+        } else if (enabled) {
+            misses.increment();
+        }
+        if (pool.size() < lowWaterMark) {
+            requestRefill();
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    private void requestRefill() {
+        if (enabled && refilling.compareAndSet(false, true)) {
+            refiller.submit(() -> {
+                try {
+                    refill();
+                } finally {
+                    refilling.set(false);
+                }
+            });
+        }
+    }
+
+    int refill() {
+        long started = System.nanoTime();
+        int added = 0;
+        try {
+            while (pool.size() < capacity && !Thread.currentThread().isInterrupted()) {
+                int candidates = Math.min(batchSize, capacity - pool.size());
+                Map<String, String> numbersByHash = new LinkedHashMap<>(candidates * 2);
+                while (numbersByHash.size() < candidates) {
+                    String cardNumber = cardNumberGenerator.generateCardNumber();
+                    String hash = encryptionService.hash(cardNumber);
+                    if (!pooledHashes.contains(hash)) {
+                        numbersByHash.put(hash, cardNumber);
+                    }
+                }
+
+                List<String> possibleHits = numbersByHash.keySet().stream()
+                        .filter(issuedCardNumberFilter::mightContain)
+                        .toList();
+                Set<String> taken = possibleHits.isEmpty()
+                        ? Set.of()
+                        : new HashSet<>(cardRepository.findExistingCardNumberHashes(possibleHits));
+                for (Map.Entry<String, String> candidate : numbersByHash.entrySet()) {
+                    if (taken.contains(candidate.getKey())) {
+                        continue;
+                    }
+                    Entry entry = new Entry(candidate.getKey(), encryptionService.encrypt(candidate.getValue()),
+                            encryptionService.createMask(candidate.getValue()));
+                    pooledHashes.add(entry.cardNumberHash());
+                    if (!pool.offer(entry)) {
+                        pooledHashes.remove(entry.cardNumberHash());
+                        break;
+                    }
+                    added++;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Card number pool refill stopped after {} numbers", added, e);
+        } finally {
+            refilled.increment(added);
+            refillTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        return added;
+    }
+
+    public record Entry(String cardNumberHash, String encryptedCardNumber, String maskedCardNumber) {
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.util.EncryptionService;
+import com.example.bankcards.util.WorkerPool;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The checkpoint is "&lt;version&gt;:&lt;last committed id&gt;"; a checkpoint for another key version restarts the walk.
+ */
+@Component
+public class CardReEncryptionJob {
+
+    static final String JOB_NAME = "card-re-encryption";
+    static final String COMPLETE = "complete";
+
+    private static final Logger log = LoggerFactory.getLogger(CardReEncryptionJob.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${encryption.re-encryption.enabled:true}")
+    private boolean enabled;
+
+    @Value("${encryption.re-encryption.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${encryption.re-encryption.workers:4}")
+    private int workerCount;
+
+    @Value("${encryption.re-encryption.max-rows-per-second:0}")
+    private int maxRowsPerSecond;
+
+    @Value("${encryption.re-encryption.lease:10m}")
+    private Duration lease;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private ExecutorService runner;
+    private WorkerPool workers;
+
+    @PostConstruct
+    void init() {
+        runner = Executors.newSingleThreadExecutor(WorkerPool.daemonThreads(JOB_NAME));
+        workers = new WorkerPool(JOB_NAME, workerCount);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        runner.shutdownNow();
+        workers.shutdownNow();
+        runner.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        runner.submit(() -> {
+            try {
+                run();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public long run() {
+        if (!jobLockService.tryAcquire(JOB_NAME, lease)) {
+            log.debug("Card re-encryption is running on another instance");
+            return 0;
+        }
+
+        int targetVersion = encryptionService.getKeyVersion();
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long reEncrypted = 0;
+        try {
+            Long afterId = resumeAfter(targetVersion);
+            while (afterId != null) {
+                long chunkStarted = System.nanoTime();
+                List<Row> rows = jdbcTemplate.query(
+                        "SELECT id, encrypted_card_number FROM cards WHERE id > ? ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> new Row(rs.getLong("id"), rs.getString("encrypted_card_number"), null),
+                        afterId, chunkSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                List<Row> changed = workers.mapSlices(rows, this::reEncryptSlice);
+                if (!changed.isEmpty()) {
+                    int[][] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(
+                            "UPDATE cards SET encrypted_card_number = ?, version = version + 1 "
+                                    + "WHERE id = ? AND encrypted_card_number = ?",
+                            changed, changed.size(), (ps, row) -> {
+                                ps.setString(1, row.reEncrypted());
+                                ps.setLong(2, row.id());
+                                ps.setString(3, row.encrypted());
+                            }));
+                    reEncrypted += updatedRows(counts);
+                }
+
+                afterId = rows.get(rows.size() - 1).id();
+                jobLockService.saveCheckpoint(JOB_NAME, targetVersion + ":" + afterId);
+                jobLockService.renewOrThrow(JOB_NAME, lease);
+                throttle(rows.size(), chunkStarted);
+            }
+            jobLockService.saveCheckpoint(JOB_NAME, targetVersion + ":" + COMPLETE);
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            log.info("Re-encrypted {} card numbers under key version {} in {} ms", reEncrypted, targetVersion, elapsedMs);
+            jobLockService.release(JOB_NAME, startedAt, reEncrypted, elapsedMs, null);
+        } catch (RuntimeException e) {
+            log.error("Card re-encryption failed", e);
+            jobLockService.release(JOB_NAME, startedAt, reEncrypted, (System.nanoTime() - started) / 1_000_000, e.getMessage());
+        }
+        return reEncrypted;
+    }
+
+    private Long resumeAfter(int targetVersion) {
+        String checkpoint = jobLockService.getCheckpoint(JOB_NAME).orElse(null);
+        String prefix = targetVersion + ":";
+        if (checkpoint == null || !checkpoint.startsWith(prefix)) {
+            return 0L;
+        }
+        String position = checkpoint.substring(prefix.length());
+        return COMPLETE.equals(position) ? null : Long.valueOf(position);
+    }
+
+    private List<Row> reEncryptSlice(List<Row> slice) {
+        List<Row> changed = new ArrayList<>(slice.size());
+        for (Row row : slice) {
+            if (!encryptionService.needsReEncryption(row.encrypted())) {
+                continue;
+            }
+            try {
+                String cardNumber = encryptionService.decrypt(row.encrypted());
+                changed.add(new Row(row.id(), row.encrypted(), encryptionService.encrypt(cardNumber)));
+            } catch (RuntimeException e) {
+                log.warn("Card {} has an unreadable card number, not re-encrypted", row.id());
+            }
+        }
+        return changed;
+    }
+
+    private void throttle(int rows, long chunkStarted) {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long remainingNanos = rows * 1_000_000_000L / maxRowsPerSecond - (System.nanoTime() - chunkStarted);
+        if (remainingNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remainingNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Card re-encryption was interrupted", e);
+            }
+        }
+    }
+
+    private static long updatedRows(int[][] counts) {
+        long updated = 0;
+        if (counts != null) {
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                }
+            }
+        }
+        return updated;
+    }
+
+    private record Row(long id, String encrypted, String reEncrypted) {
+    }
+}
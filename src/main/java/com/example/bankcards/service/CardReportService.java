@@ -0,0 +1,83 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.ExpiringCardRow;
+import com.example.bankcards.repository.CardRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class CardReportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final int FLUSH_EVERY = 1000;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public long writeExpiringCards(int days, Format format, OutputStream out) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        Long written = transactionTemplate.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<ExpiringCardRow> rows = cardRepository.streamCardsExpiringBefore(LocalDate.now().plusDays(days))) {
+                if (format == Format.CSV) {
+                    writer.write("id,maskedCardNumber,cardHolder,expiryDate,status,owner\n");
+                }
+                long count = 0;
+                Iterator<ExpiringCardRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    ExpiringCardRow row = iterator.next();
+                    writer.write(format == Format.CSV ? toCsv(row) : objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                    if (++count == 1 || count % FLUSH_EVERY == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return written == null ? 0 : written;
+    }
+
+    private static String toCsv(ExpiringCardRow row) {
+        return row.id() + "," + csv(row.maskedCardNumber()) + "," + csv(row.cardHolder()) + ","
+                + row.expiryDate() + "," + row.status() + "," + csv(row.owner());
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -2,64 +2,137 @@ package com.example.bankcards.service;
 
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.CardTransaction;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.CardTransactionRepository;
 import com.example.bankcards.repository.UserRepository;
 import com.example.bankcards.util.CardNumberGenerator;
 import com.example.bankcards.util.EncryptionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @Transactional
 public class CardService {
 
+    static final int MAX_CARDS_PER_USER = 5;
+    static final String CARD_LIMIT_REACHED = "Maximum number of cards reached (" + MAX_CARDS_PER_USER + ")";
+    static final int MAX_CREATE_ATTEMPTS = 3;
+
+    private static final String CARD_NUMBER_HASH_INDEX = "uq_cards_card_number_hash";
+
+    private static final Logger log = LoggerFactory.getLogger(CardService.class);
+
     @Autowired
     private CardRepository cardRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CardTransactionRepository cardTransactionRepository;
+
     @Autowired
     private CardNumberGenerator cardNumberGenerator;
 
     @Autowired
     private EncryptionService encryptionService;
 
+    @Autowired
+    private TransferEngine transferEngine;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private CardNumberPool cardNumberPool;
+
+    @Autowired
+    private IssuedCardNumberFilter issuedCardNumberFilter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Card createCard(String username, String cardHolder) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return insertCard(username, cardHolder);
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insertCard(username, cardHolder));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_CREATE_ATTEMPTS || !isCardNumberHashConflict(e)) {
+                    throw e;
+                }
+                log.debug("Card number already issued on another node, attempt {} of {}", attempt, MAX_CREATE_ATTEMPTS);
+            }
+        }
+    }
+
+    private Card insertCard(String username, String cardHolder) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        // serialises card issuance per owner with bulk issuance, so the count below is current
+        userRepository.findAllByIdInForUpdate(List.of(user.getId()));
 
         long cardCount = cardRepository.countByOwnerId(user.getId());
-        if (cardCount >= 5) {
-            throw new RuntimeException("Maximum number of cards reached (5)");
+        if (cardCount >= MAX_CARDS_PER_USER) {
+            throw new RuntimeException(CARD_LIMIT_REACHED);
         }
 
+        CardNumberPool.Entry number = cardNumberPool.poll().orElseGet(this::generateUniqueCardNumber);
+        LocalDate expiryDate = cardNumberGenerator.generateExpiryDate();
+
+        Card card = new Card(number.encryptedCardNumber(), number.maskedCardNumber(), cardHolder, expiryDate, user);
+        card.setCardNumberHash(number.cardNumberHash());
+
+        Card saved = cardRepository.saveAndFlush(card);
+        issuedCardNumberFilter.put(number.cardNumberHash());
+        return saved;
+    }
+
+    private static boolean isCardNumberHashConflict(DataIntegrityViolationException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(CARD_NUMBER_HASH_INDEX);
+    }
+
+    private CardNumberPool.Entry generateUniqueCardNumber() {
         String cardNumber;
-        String encryptedNumber;
+        String cardNumberHash;
         int attempts = 0;
         do {
             cardNumber = cardNumberGenerator.generateCardNumber();
-            encryptedNumber = encryptionService.encrypt(cardNumber);
+            cardNumberHash = encryptionService.hash(cardNumber);
             attempts++;
             if (attempts > 10) {
                 throw new RuntimeException("Unable to generate unique card number after 10 attempts");
             }
-        } while (cardRepository.existsByEncryptedCardNumber(encryptedNumber));
+        } while (issuedCardNumberFilter.mightContain(cardNumberHash)
+                && cardRepository.existsByCardNumberHash(cardNumberHash));
 
-        String maskedNumber = encryptionService.createMask(cardNumber);
-        LocalDate expiryDate = cardNumberGenerator.generateExpiryDate();
-
-        Card card = new Card(encryptedNumber, maskedNumber, cardHolder, expiryDate, user);
-        
-        return cardRepository.save(card);
+        return new CardNumberPool.Entry(cardNumberHash, encryptionService.encrypt(cardNumber),
+                encryptionService.createMask(cardNumber));
     }
 
     public Page<Card> getUserCards(String username, Pageable pageable) {
@@ -87,59 +160,45 @@ public class CardService {
         return card;
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void blockCard(Long cardId, String username) {
-        Card card = getCardById(cardId, username);
-        
-        if (card.getStatus() == CardStatus.BLOCKED) {
-            throw new RuntimeException("Card is already blocked");
-        }
+        retryExecutor.execute("blockCard", () -> {
+            Card card = getCardById(cardId, username);
+
+            if (card.getStatus() == CardStatus.BLOCKED) {
+                throw new RuntimeException("Card is already blocked");
+            }
 
-        card.setStatus(CardStatus.BLOCKED);
-        cardRepository.save(card);
+            card.setStatus(CardStatus.BLOCKED);
+            cardRepository.save(card);
+        });
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void activateCard(Long cardId) {
-        Card card = cardRepository.findById(cardId)
-                .orElseThrow(() -> new RuntimeException("Card not found"));
+        retryExecutor.execute("activateCard", () -> {
+            Card card = cardRepository.findById(cardId)
+                    .orElseThrow(() -> new RuntimeException("Card not found"));
 
-        card.setStatus(CardStatus.ACTIVE);
-        cardRepository.save(card);
+            card.setStatus(CardStatus.ACTIVE);
+            cardRepository.save(card);
+        });
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void transferMoney(Long fromCardId, Long toCardId, BigDecimal amount, String username) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new RuntimeException("Transfer amount must be positive");
         }
 
-        Card fromCard = getCardById(fromCardId, username);
-        Card toCard = getCardById(toCardId, username);
-
-        if (fromCard.getStatus() != CardStatus.ACTIVE || toCard.getStatus() != CardStatus.ACTIVE) {
-            throw new RuntimeException("Both cards must be active for transfer");
-        }
-
-        if (fromCard.getBalance().compareTo(amount) < 0) {
-            throw new RuntimeException("Insufficient funds");
-        }
-
-        fromCard.setBalance(fromCard.getBalance().subtract(amount));
-        toCard.setBalance(toCard.getBalance().add(amount));
-
-        cardRepository.save(fromCard);
-        cardRepository.save(toCard);
+        transferEngine.transfer(fromCardId, toCardId, amount, username);
     }
 
-    public void updateCardStatus() {
-        LocalDate now = LocalDate.now();
-        List<Card> allCards = cardRepository.findAll();
-        
-        for (Card card : allCards) {
-            if (card.getExpiryDate().isBefore(now) && card.getStatus() != CardStatus.EXPIRED) {
-                card.setStatus(CardStatus.EXPIRED);
-                cardRepository.save(card);
-            }
-        }
+    @Transactional(readOnly = true)
+    public Slice<CardTransaction> getCardTransactions(Long cardId, String username, Pageable pageable) {
+        getCardById(cardId, username);
+
+        return cardTransactionRepository.findByCardIdOrderByCreatedAtDesc(cardId, pageable);
     }
 
     public Page<Card> getAllCards(Pageable pageable) {
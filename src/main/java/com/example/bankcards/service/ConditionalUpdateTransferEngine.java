@@ -0,0 +1,53 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.repository.CardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+/**
+ * The UPDATE statements run in card id order, taking row locks in the same order as {@link LockingTransferEngine}.
+ */
+@Component
+@ConditionalOnProperty(name = "transfer.mode", havingValue = "conditional")
+public class ConditionalUpdateTransferEngine implements TransferEngine {
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private TransferLedger transferLedger;
+
+    @Override
+    @Transactional
+    public void transfer(Long fromCardId, Long toCardId, BigDecimal amount, String username) {
+        boolean applied;
+        if (fromCardId < toCardId) {
+            applied = cardRepository.debitIfAllowed(fromCardId, username, amount) == 1
+                    && cardRepository.creditIfAllowed(toCardId, username, amount) == 1;
+        } else {
+            applied = cardRepository.creditIfAllowed(toCardId, username, amount) == 1
+                    && cardRepository.debitIfAllowed(fromCardId, username, amount) == 1;
+        }
+
+        if (!applied) {
+            throw rejection(fromCardId, toCardId, amount, username);
+        }
+
+        transferLedger.record(fromCardId, toCardId, amount);
+    }
+
+    private RuntimeException rejection(Long fromCardId, Long toCardId, BigDecimal amount, String username) {
+        Card fromCard = cardRepository.findById(fromCardId)
+                .orElseThrow(() -> new RuntimeException("Card not found"));
+        Card toCard = cardRepository.findById(toCardId)
+                .orElseThrow(() -> new RuntimeException("Card not found"));
+
+        TransferRules.check(fromCard, toCard, amount, username);
+        return new RuntimeException("Transfer rejected, please retry");
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.IdempotencyKey;
+import com.example.bankcards.exception.IdempotencyKeyInProgressException;
+import com.example.bankcards.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * A key is reserved in its own transaction before the action runs, so a crash leaves it blocked rather than re-executable.
+ */
+@Service
+public class IdempotencyService {
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${idempotency.cache.max-size:100000}")
+    private long cacheMaxSize;
+
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+
+    private Cache<String, Outcome> outcomes;
+    private final ConcurrentMap<String, CompletableFuture<Outcome>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        outcomes = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public String execute(String username, String idempotencyKey, String fingerprint, Supplier<String> action) {
+        String cacheKey = username + ":" + idempotencyKey;
+
+        Outcome cached = outcomes.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached.replay(fingerprint);
+        }
+
+        CompletableFuture<Outcome> own = new CompletableFuture<>();
+        CompletableFuture<Outcome> running = inFlight.putIfAbsent(cacheKey, own);
+        if (running != null) {
+            return await(running, idempotencyKey).replay(fingerprint);
+        }
+
+        try {
+            Outcome outcome = loadOrRun(username, idempotencyKey, fingerprint, action);
+            outcomes.put(cacheKey, outcome);
+            own.complete(outcome);
+            return outcome.replay(fingerprint);
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, own);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private Outcome loadOrRun(String username, String idempotencyKey, String fingerprint, Supplier<String> action) {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Optional<IdempotencyKey> stored = idempotencyKeyRepository.findByUsernameAndIdempotencyKey(username, idempotencyKey);
+        if (stored.isPresent()) {
+            IdempotencyKey key = stored.get();
+            if (key.getExpiresAt().isAfter(LocalDateTime.now())) {
+                if (!key.isCompleted()) {
+                    throw new IdempotencyKeyInProgressException(idempotencyKey);
+                }
+                return new Outcome(key.getRequestFingerprint(), key.getResponseBody());
+            }
+            newTransaction.executeWithoutResult(status -> idempotencyKeyRepository.deleteById(key.getId()));
+        }
+
+        IdempotencyKey reserved;
+        try {
+            reserved = newTransaction.execute(status -> idempotencyKeyRepository.saveAndFlush(
+                    new IdempotencyKey(username, idempotencyKey, fingerprint, LocalDateTime.now().plus(ttl))));
+        } catch (DataIntegrityViolationException e) {
+            throw new IdempotencyKeyInProgressException(idempotencyKey);
+        }
+
+        String responseBody;
+        try {
+            responseBody = action.get();
+        } catch (RuntimeException e) {
+            newTransaction.executeWithoutResult(status -> idempotencyKeyRepository.deleteById(reserved.getId()));
+            throw e;
+        }
+
+        reserved.setCompleted(true);
+        reserved.setResponseBody(responseBody);
+        newTransaction.executeWithoutResult(status -> idempotencyKeyRepository.save(reserved));
+        return new Outcome(fingerprint, responseBody);
+    }
+
+    private Outcome await(CompletableFuture<Outcome> running, String idempotencyKey) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException(idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(idempotencyKey);
+        }
+    }
+
+    private record Outcome(String fingerprint, String responseBody) {
+
+        String replay(String requestFingerprint) {
+            if (!fingerprint.equals(requestFingerprint)) {
+                throw new RuntimeException("Idempotency key was already used for a different request");
+            }
+            return responseBody;
+        }
+    }
+}
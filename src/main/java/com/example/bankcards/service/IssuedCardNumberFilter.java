@@ -0,0 +1,119 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.util.HashBloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Per instance and refreshed only on rebuild; the unique index on card_number_hash still rejects a number it misses.
+ */
+@Component
+public class IssuedCardNumberFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IssuedCardNumberFilter.class);
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${card-number-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${card-number-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${card-number-filter.min-capacity:100000}")
+    private long minCapacity;
+
+    private volatile HashBloomFilter filter;
+    private volatile HashBloomFilter building;
+    private final AtomicLong entries = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("card.number.filter.bytes", this, f -> f.filter == null ? 0 : f.filter.getSizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("card.number.filter.entries", entries, AtomicLong::get).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${card-number-filter.rebuild-interval-ms:3600000}",
+            initialDelayString = "${card-number-filter.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        long started = System.nanoTime();
+        HashBloomFilter next = HashBloomFilter.create(Math.max(cardRepository.count() * 2, minCapacity), falsePositiveRate);
+        building = next;
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            Long count = transactionTemplate.execute(status -> {
+                long added = 0;
+                try (Stream<String> hashes = cardRepository.streamCardNumberHashes()) {
+                    for (String hash : (Iterable<String>) hashes::iterator) {
+                        next.put(hash);
+                        added++;
+                    }
+                }
+                return added;
+            });
+            filter = next;
+            entries.set(count == null ? 0 : count);
+            log.info("Card number filter built from {} hashes: {} bytes, {} hash functions, in {} ms", entries.get(),
+                    next.getSizeInBytes(), next.getHashFunctions(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Card number filter rebuild failed", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    public boolean mightContain(String cardNumberHash) {
+        HashBloomFilter current = filter;
+        return current == null || current.mightContain(cardNumberHash);
+    }
+
+    public void put(String cardNumberHash) {
+        HashBloomFilter current = filter;
+        if (current != null) {
+            current.put(cardNumberHash);
+            entries.incrementAndGet();
+        }
+        HashBloomFilter next = building;
+        if (next != null) {
+            next.put(cardNumberHash);
+        }
+    }
+}
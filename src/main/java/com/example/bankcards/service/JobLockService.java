@@ -0,0 +1,121 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.JobStatusResponse;
+import com.example.bankcards.entity.JobLock;
+import com.example.bankcards.exception.LeaseLostException;
+import com.example.bankcards.repository.JobLockRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Database leases for background jobs. A job runs only on the instance holding its row in
+ * job_locks; a lease that is not renewed before it expires can be taken over by another instance.
+ */
+@Service
+public class JobLockService {
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${job-lock.instance-id:}")
+    private String instanceId;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        if (instanceId == null || instanceId.isBlank()) {
+            instanceId = hostName() + "-" + ProcessHandle.current().pid();
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public boolean tryAcquire(String jobName, Duration lease) {
+        if (!jobLockRepository.existsById(jobName)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jobLockRepository.saveAndFlush(new JobLock(jobName)));
+            } catch (DataIntegrityViolationException e) {
+                // another instance created the row first
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Integer acquired = transactionTemplate.execute(status ->
+                jobLockRepository.tryAcquire(jobName, instanceId, now, now.plus(lease)));
+        return acquired != null && acquired == 1;
+    }
+
+    public boolean renew(String jobName, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer renewed = transactionTemplate.execute(status ->
+                jobLockRepository.renew(jobName, instanceId, now, now.plus(lease)));
+        return renewed != null && renewed == 1;
+    }
+
+    public void renewOrThrow(String jobName, Duration lease) {
+        if (!renew(jobName, lease)) {
+            throw new LeaseLostException(jobName);
+        }
+    }
+
+    public Optional<String> getCheckpoint(String jobName) {
+        return jobLockRepository.findById(jobName).map(JobLock::getCheckpoint);
+    }
+
+    public void saveCheckpoint(String jobName, String checkpoint) {
+        transactionTemplate.executeWithoutResult(status -> jobLockRepository.findById(jobName)
+                .filter(lock -> instanceId.equals(lock.getLockedBy()))
+                .ifPresent(lock -> lock.setCheckpoint(checkpoint)));
+    }
+
+    public void release(String jobName, LocalDateTime startedAt, Long processed, long elapsedMs, String error) {
+        transactionTemplate.executeWithoutResult(status -> jobLockRepository.findById(jobName)
+                .filter(lock -> instanceId.equals(lock.getLockedBy()))
+                .ifPresent(lock -> {
+                    lock.setLockedUntil(null);
+                    lock.setLastRunBy(instanceId);
+                    lock.setLastStartedAt(startedAt);
+                    lock.setLastFinishedAt(LocalDateTime.now());
+                    lock.setLastProcessed(processed);
+                    lock.setLastElapsedMs(elapsedMs);
+                    lock.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+                }));
+    }
+
+    public List<JobStatusResponse> getJobStatuses() {
+        return jobLockRepository.findAll().stream()
+                .map(lock -> new JobStatusResponse(lock.getJobName(), lock.getLockedBy(), lock.getLockedUntil(),
+                        lock.getLastRunBy(), lock.getLastStartedAt(), lock.getLastFinishedAt(),
+                        lock.getLastProcessed(), lock.getLastElapsedMs(), lock.getLastError()))
+                .toList();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
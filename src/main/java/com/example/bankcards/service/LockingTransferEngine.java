@@ -0,0 +1,100 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.repository.CardRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * Locks both card rows with SELECT ... FOR UPDATE, always lowest id first,
+ * so two transfers over the same pair of cards can never deadlock.
+ */
+@Component
+@ConditionalOnProperty(name = "transfer.mode", havingValue = "locking", matchIfMissing = true)
+public class LockingTransferEngine implements TransferEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(LockingTransferEngine.class);
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransferLedger transferLedger;
+
+    @Value("${transfer.lock.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${transfer.lock.retry-backoff-ms:50}")
+    private long retryBackoffMs;
+
+    @Override
+    public void transfer(Long fromCardId, Long toCardId, BigDecimal amount, String username) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            applyTransfer(fromCardId, toCardId, amount, username);
+            return;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        applyTransfer(fromCardId, toCardId, amount, username));
+                return;
+            } catch (PessimisticLockingFailureException | QueryTimeoutException e) {
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("card.operation.retries.exhausted", "operation", "transfer", "mode", "locking").increment();
+                    throw new RuntimeException("Cards are busy, please retry the transfer later", e);
+                }
+                meterRegistry.counter("card.operation.retries", "operation", "transfer", "mode", "locking").increment();
+                log.debug("Lock timeout on transfer {} -> {}, attempt {} of {}", fromCardId, toCardId, attempt, maxAttempts);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void applyTransfer(Long fromCardId, Long toCardId, BigDecimal amount, String username) {
+        Long firstId = Math.min(fromCardId, toCardId);
+        Long secondId = Math.max(fromCardId, toCardId);
+
+        Card first = lockCard(firstId);
+        Card second = firstId.equals(secondId) ? first : lockCard(secondId);
+
+        Card fromCard = firstId.equals(fromCardId) ? first : second;
+        Card toCard = firstId.equals(fromCardId) ? second : first;
+
+        TransferRules.apply(fromCard, toCard, amount, username);
+        transferLedger.record(fromCardId, toCardId, amount);
+    }
+
+    private Card lockCard(Long cardId) {
+        return cardRepository.findByIdForUpdate(cardId)
+                .orElseThrow(() -> new RuntimeException("Card not found"));
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Transfer interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.repository.CardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+@Component
+@ConditionalOnProperty(name = "transfer.mode", havingValue = "optimistic")
+public class OptimisticTransferEngine implements TransferEngine {
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private TransferLedger transferLedger;
+
+    @Override
+    public void transfer(Long fromCardId, Long toCardId, BigDecimal amount, String username) {
+        retryExecutor.execute("transfer", () -> {
+            Card fromCard = findCard(fromCardId);
+            Card toCard = findCard(toCardId);
+            TransferRules.apply(fromCard, toCard, amount, username);
+            transferLedger.record(fromCardId, toCardId, amount);
+        });
+    }
+
+    private Card findCard(Long cardId) {
+        return cardRepository.findById(cardId)
+                .orElseThrow(() -> new RuntimeException("Card not found"));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.bankcards.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record QueuedTransfer(
+        UUID id,
+        String username,
+        Long fromCardId,
+        Long toCardId,
+        BigDecimal amount,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,8 @@
+package com.example.bankcards.service;
+
+import java.math.BigDecimal;
+
+public interface TransferEngine {
+
+    void transfer(Long fromCardId, Long toCardId, BigDecimal amount, String username);
+}
@@ -0,0 +1,30 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.CardTransaction;
+import com.example.bankcards.entity.TransactionType;
+import com.example.bankcards.repository.CardTransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class TransferLedger {
+
+    @Autowired
+    private CardTransactionRepository cardTransactionRepository;
+
+    public UUID record(Long fromCardId, Long toCardId, BigDecimal amount) {
+        return record(UUID.randomUUID(), fromCardId, toCardId, amount);
+    }
+
+    public UUID record(UUID transferId, Long fromCardId, Long toCardId, BigDecimal amount) {
+        cardTransactionRepository.saveAll(List.of(
+                new CardTransaction(transferId, fromCardId, toCardId, TransactionType.DEBIT, amount),
+                new CardTransaction(transferId, toCardId, fromCardId, TransactionType.CREDIT, amount)
+        ));
+        return transferId;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+
+import java.math.BigDecimal;
+
+final class TransferRules {
+
+    private TransferRules() {
+    }
+
+    static void apply(Card fromCard, Card toCard, BigDecimal amount, String username) {
+        check(fromCard, toCard, amount, username);
+        move(fromCard, toCard, amount);
+    }
+
+    static void check(Card fromCard, Card toCard, BigDecimal amount, String username) {
+        checkOwner(fromCard, username);
+        checkOwner(toCard, username);
+        checkMovable(fromCard, toCard, amount);
+    }
+
+    static void checkMovable(Card fromCard, Card toCard, BigDecimal amount) {
+        if (fromCard.getEffectiveStatus() != CardStatus.ACTIVE || toCard.getEffectiveStatus() != CardStatus.ACTIVE) {
+            throw new RuntimeException("Both cards must be active for transfer");
+        }
+
+        if (fromCard.getBalance().compareTo(amount) < 0) {
+            throw new RuntimeException("Insufficient funds");
+        }
+    }
+
+    static void move(Card fromCard, Card toCard, BigDecimal amount) {
+        fromCard.setBalance(fromCard.getBalance().subtract(amount));
+        toCard.setBalance(toCard.getBalance().add(amount));
+    }
+
+    static void checkOwner(Card card, String username) {
+        if (!card.getOwner().getUsername().equals(username)) {
+            throw new RuntimeException("Access denied");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.bankcards.util;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+
+class AesEcbCryptoEngine implements CryptoEngine {
+
+    private static final String TRANSFORMATION = "AES";
+
+    private final ThreadLocal<Cipher> encryptor;
+    private final ThreadLocal<Cipher> decryptor;
+
+    AesEcbCryptoEngine(SecretKey key) {
+        this.encryptor = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE, key));
+        this.decryptor = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE, key));
+    }
+
+    @Override
+    public byte[] encrypt(byte[] plainText) {
+        return run(encryptor.get(), plainText);
+    }
+
+    @Override
+    public byte[] decrypt(byte[] cipherText) {
+        return run(decryptor.get(), cipherText);
+    }
+
+    private static byte[] run(Cipher cipher, byte[] input) {
+        try {
+            return cipher.doFinal(input);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Cipher newCipher(int mode, SecretKey key) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(mode, key);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.bankcards.util;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+/**
+ * Output is the 12-byte IV followed by the ciphertext and 128-bit tag.
+ */
+class AesGcmCryptoEngine implements CryptoEngine {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(AesGcmCryptoEngine::newCipher);
+
+    AesGcmCryptoEngine(SecretKey key) {
+        this.key = key;
+    }
+
+    @Override
+    public byte[] encrypt(byte[] plainText) {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] output = new byte[IV_LENGTH + cipher.getOutputSize(plainText.length)];
+            System.arraycopy(iv, 0, output, 0, IV_LENGTH);
+            cipher.doFinal(plainText, 0, plainText.length, output, IV_LENGTH);
+            return output;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public byte[] decrypt(byte[] cipherText) {
+        if (cipherText.length < IV_LENGTH) {
+            throw new IllegalArgumentException("Ciphertext is too short");
+        }
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, cipherText, 0, IV_LENGTH));
+            return cipher.doFinal(cipherText, IV_LENGTH, cipherText.length - IV_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
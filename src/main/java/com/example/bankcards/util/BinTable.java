@@ -0,0 +1,221 @@
+package com.example.bankcards.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Text format, one range per line: {@code binFrom,binTo,scheme,panLength}, e.g. {@code 400000,400399,VISA,16}.
+ */
+public final class BinTable {
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    static final int BIN_DIGITS = 8;
+    private static final int MIN_PAN_LENGTH = 12;
+    private static final int MAX_PAN_LENGTH = 19;
+    private static final int DEFAULT_PAN_LENGTH = 16;
+
+    private static final BinTable DEFAULT = new BinTable(List.of(
+            new Range(40000000, 40039999, "VISA", 16),
+            new Range(50000000, 50039999, "MASTERCARD", 16),
+            new Range(22000000, 22039999, "MIR", 16)));
+
+    private final int[] lows;
+    private final int[] highs;
+    private final String[] schemes;
+    private final int[] panLengths;
+
+    private BinTable(List<Range> ranges) {
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("BIN table is empty");
+        }
+        List<Range> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingInt(Range::low));
+        lows = new int[sorted.size()];
+        highs = new int[sorted.size()];
+        schemes = new String[sorted.size()];
+        panLengths = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            Range range = sorted.get(i);
+            if (i > 0 && range.low() <= highs[i - 1]) {
+                throw new IllegalArgumentException("BIN range " + range.low() + " overlaps " + lows[i - 1]);
+            }
+            lows[i] = range.low();
+            highs[i] = range.high();
+            schemes[i] = range.scheme();
+            panLengths[i] = range.panLength();
+        }
+    }
+
+    public static BinTable defaults() {
+        return DEFAULT;
+    }
+
+    public static BinTable parse(InputStream in) {
+        List<Range> ranges = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 4) {
+                    throw new IllegalArgumentException("Invalid BIN range on line " + lineNumber + ": " + line);
+                }
+                ranges.add(range(fields[0].strip(), fields[1].strip(),
+                        fields[2].strip().toUpperCase(Locale.ROOT), Integer.parseInt(fields[3].strip())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new BinTable(ranges);
+    }
+
+    private static Range range(String binFrom, String binTo, String scheme, int panLength) {
+        if (binFrom.length() != binTo.length() || (binFrom.length() != 6 && binFrom.length() != BIN_DIGITS)) {
+            throw new IllegalArgumentException("BIN range bounds must both have 6 or 8 digits: " + binFrom + "-" + binTo);
+        }
+        if (panLength < MIN_PAN_LENGTH || panLength > MAX_PAN_LENGTH) {
+            throw new IllegalArgumentException("Unsupported PAN length " + panLength + " for BIN " + binFrom);
+        }
+        int scale = binFrom.length() == 6 ? 100 : 1;
+        int low = Integer.parseInt(binFrom) * scale;
+        int high = Integer.parseInt(binTo) * scale + scale - 1;
+        if (low > high) {
+            throw new IllegalArgumentException("BIN range is reversed: " + binFrom + "-" + binTo);
+        }
+        return new Range(low, high, scheme, panLength);
+    }
+
+    public int size() {
+        return lows.length;
+    }
+
+    int indexOf(CharSequence pan) {
+        int bin = 0;
+        int digits = 0;
+        for (int i = 0; i < pan.length() && digits < BIN_DIGITS; i++) {
+            char c = pan.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            bin = bin * 10 + (c - '0');
+            digits++;
+        }
+        if (digits < 4) {
+            return -1;
+        }
+        for (; digits < BIN_DIGITS; digits++) {
+            bin *= 10;
+        }
+
+        int lo = 0;
+        int hi = lows.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (lows[mid] <= bin) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return hi >= 0 && bin <= highs[hi] ? hi : -1;
+    }
+
+    public String schemeOf(CharSequence pan) {
+        int index = indexOf(pan);
+        return index < 0 ? UNKNOWN : schemes[index];
+    }
+
+    /**
+     * The PAN length must match its BIN's configured length, or 16 for unknown BINs.
+     */
+    public boolean isValid(CharSequence pan) {
+        int length = pan.length();
+        int index = indexOf(pan);
+        if (length != (index >= 0 ? panLengths[index] : DEFAULT_PAN_LENGTH)) {
+            return false;
+        }
+        return luhnSum(pan, length) % 10 == 0;
+    }
+
+    public String generate(Random random) {
+        int index = random.nextInt(lows.length);
+        int length = panLengths[index];
+        char[] pan = new char[length];
+        int bin = lows[index] + random.nextInt(highs[index] - lows[index] + 1);
+        for (int i = BIN_DIGITS - 1; i >= 0; i--) {
+            pan[i] = (char) ('0' + bin % 10);
+            bin /= 10;
+        }
+        for (int i = BIN_DIGITS; i < length - 1; i++) {
+            pan[i] = (char) ('0' + random.nextInt(10));
+        }
+        pan[length - 1] = (char) ('0' + luhnCheckDigit(pan, length - 1));
+        return new String(pan);
+    }
+
+    public List<String> generate(int count, Random random) {
+        List<String> pans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            pans.add(generate(random));
+        }
+        return pans;
+    }
+
+    private static int luhnCheckDigit(char[] digits, int length) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = length - 1; i >= 0; i--) {
+            int digit = digits[i] - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static int luhnSum(CharSequence digits, int length) {
+        int sum = 0;
+        boolean doubled = false;
+        for (int i = length - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return sum;
+    }
+
+    private record Range(int low, int high, String scheme, int panLength) {
+    }
+}
@@ -1,38 +1,50 @@
 package com.example.bankcards.util;
 
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.SecureRandom;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Random;
 
 @Component
 public class CardNumberGenerator {
 
-    private static final String[] VISA_PREFIXES = {"4000", "4001", "4002", "4003"};
-    private static final String[] MASTERCARD_PREFIXES = {"5000", "5001", "5002", "5003"};
-    private static final String[] MIR_PREFIXES = {"2200", "2201", "2202", "2203"};
-    
     private final Random random = new SecureRandom();
 
-    public String generateCardNumber() {
-        String[] allPrefixes = {
-                VISA_PREFIXES[random.nextInt(VISA_PREFIXES.length)],
-                MASTERCARD_PREFIXES[random.nextInt(MASTERCARD_PREFIXES.length)],
-                MIR_PREFIXES[random.nextInt(MIR_PREFIXES.length)]
-        };
-        
-        String prefix = allPrefixes[random.nextInt(allPrefixes.length)];
-        StringBuilder cardNumber = new StringBuilder(prefix);
-        
-        while (cardNumber.length() < 15) {
-            cardNumber.append(random.nextInt(10));
+    @Value("${card.bin-table.location:#{null}}")
+    private Resource binTableLocation;
+
+    private BinTable binTable;
+
+    public CardNumberGenerator() {
+        this(BinTable.defaults());
+    }
+
+    public CardNumberGenerator(BinTable binTable) {
+        this.binTable = binTable;
+    }
+
+    @PostConstruct
+    void loadBinTable() throws IOException {
+        if (binTableLocation != null) {
+            try (InputStream in = binTableLocation.getInputStream()) {
+                binTable = BinTable.parse(in);
+            }
         }
-        
-        int checkDigit = calculateLuhnCheckDigit(cardNumber.toString());
-        cardNumber.append(checkDigit);
-        
-        return cardNumber.toString();
+    }
+
+    public String generateCardNumber() {
+        return binTable.generate(random);
+    }
+
+    public List<String> generateCardNumbers(int count) {
+        return binTable.generate(count, random);
     }
 
     public LocalDate generateExpiryDate() {
@@ -44,84 +56,13 @@ public class CardNumberGenerator {
     }
 
     public boolean isValidCardNumber(String cardNumber) {
-        if (cardNumber == null || cardNumber.length() != 16) {
-            return false;
-        }
-        
-        try {
-            return isValidLuhn(cardNumber);
-        } catch (NumberFormatException e) {
-            return false;
-        }
-    }
-
-    private int calculateLuhnCheckDigit(String cardNumber) {
-        int sum = 0;
-        boolean alternate = true;
-        
-        for (int i = cardNumber.length() - 1; i >= 0; i--) {
-            int digit = Character.getNumericValue(cardNumber.charAt(i));
-            
-            if (alternate) {
-                digit *= 2;
-                if (digit > 9) {
-                    digit = (digit % 10) + 1;
-                }
-            }
-            
-            sum += digit;
-            alternate = !alternate;
-        }
-        
-        return (10 - (sum % 10)) % 10;
-    }
-
-    private boolean isValidLuhn(String cardNumber) {
-        int sum = 0;
-        boolean alternate = false;
-        
-        for (int i = cardNumber.length() - 1; i >= 0; i--) {
-            int digit = Character.getNumericValue(cardNumber.charAt(i));
-            
-            if (alternate) {
-                digit *= 2;
-                if (digit > 9) {
-                    digit = (digit % 10) + 1;
-                }
-            }
-            
-            sum += digit;
-            alternate = !alternate;
-        }
-        
-        return (sum % 10) == 0;
+        return cardNumber != null && binTable.isValid(cardNumber);
     }
 
     public String getCardType(String cardNumber) {
-        if (cardNumber == null || cardNumber.length() < 4) {
-            return "UNKNOWN";
+        if (cardNumber == null) {
+            return BinTable.UNKNOWN;
         }
-        
-        String prefix = cardNumber.substring(0, 4);
-        
-        for (String visaPrefix : VISA_PREFIXES) {
-            if (prefix.equals(visaPrefix)) {
-                return "VISA";
-            }
-        }
-        
-        for (String mastercardPrefix : MASTERCARD_PREFIXES) {
-            if (prefix.equals(mastercardPrefix)) {
-                return "MASTERCARD";
-            }
-        }
-        
-        for (String mirPrefix : MIR_PREFIXES) {
-            if (prefix.equals(mirPrefix)) {
-                return "MIR";
-            }
-        }
-        
-        return "UNKNOWN";
+        return binTable.schemeOf(cardNumber);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package com.example.bankcards.util;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+class CardNumberHasher {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final ThreadLocal<Mac> macs;
+
+    CardNumberHasher(SecretKey key) {
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+    }
+
+    String hash(String cardNumber) {
+        byte[] digest = macs.get().doFinal(cardNumber.getBytes(StandardCharsets.US_ASCII));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private static Mac newMac(SecretKey key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
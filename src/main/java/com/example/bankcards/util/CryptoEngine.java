@@ -0,0 +1,8 @@
+package com.example.bankcards.util;
+
+interface CryptoEngine {
+
+    byte[] encrypt(byte[] plainText);
+
+    byte[] decrypt(byte[] cipherText);
+}
@@ -1,43 +1,107 @@
 package com.example.bankcards.util;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.Cipher;
-import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Ciphertexts are "v&lt;N&gt;:" plus AES-GCM under key version N; unprefixed values are legacy AES/ECB under version 1.
+ */
 @Service
 public class EncryptionService {
 
     private static final String ALGORITHM = "AES";
-    private static final String TRANSFORMATION = "AES";
+    private static final int LEGACY_KEY_VERSION = 1;
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getEncoder();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getDecoder();
+
+    @Autowired(required = false)
+    private Environment environment;
 
     @Value("${encryption.key:mySecretEncryptionKey123456}")
     private String encryptionKey;
 
-    private SecretKey getSecretKey() {
-        byte[] key = encryptionKey.getBytes();
-        if (key.length < 16) {
-            byte[] paddedKey = new byte[16];
-            System.arraycopy(key, 0, paddedKey, 0, key.length);
-            key = paddedKey;
-        } else if (key.length > 16) {
-            byte[] truncatedKey = new byte[16];
-            System.arraycopy(key, 0, truncatedKey, 0, 16);
-            key = truncatedKey;
+    @Value("${encryption.key-version:1}")
+    private int keyVersion = 1;
+
+    // no default: a key known from the source would let anyone brute-force card_number_hash over the small PAN space
+    @Value("${encryption.hash-key}")
+    private String hashKey;
+
+    private final Map<Integer, CryptoEngine> gcmEngines = new ConcurrentHashMap<>();
+    private volatile CryptoEngine legacyEngine;
+    private volatile CardNumberHasher hasher;
+
+    public int getKeyVersion() {
+        return keyVersion;
+    }
+
+    private CryptoEngine gcm(int version) {
+        return gcmEngines.computeIfAbsent(version,
+                v -> new AesGcmCryptoEngine(new SecretKeySpec(sha256(keyFor(v)), ALGORITHM)));
+    }
+
+    private CryptoEngine legacy() {
+        CryptoEngine current = legacyEngine;
+        if (current == null) {
+            current = new AesEcbCryptoEngine(deriveLegacyKey(keyFor(LEGACY_KEY_VERSION)));
+            legacyEngine = current;
+        }
+        return current;
+    }
+
+    private CardNumberHasher hasher() {
+        CardNumberHasher current = hasher;
+        if (current == null) {
+            current = new CardNumberHasher(new SecretKeySpec(hashKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            hasher = current;
+        }
+        return current;
+    }
+
+    private String keyFor(int version) {
+        if (version == keyVersion) {
+            return encryptionKey;
         }
+        String key = environment != null ? environment.getProperty("encryption.old-keys." + version) : null;
+        if (key == null) {
+            throw new IllegalStateException("No encryption key configured for version " + version);
+        }
+        return key;
+    }
+
+    static SecretKey deriveLegacyKey(String encryptionKey) {
+        byte[] key = new byte[16];
+        byte[] raw = encryptionKey.getBytes();
+        System.arraycopy(raw, 0, key, 0, Math.min(raw.length, key.length));
         return new SecretKeySpec(key, ALGORITHM);
     }
 
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     public String encrypt(String plainText) {
         try {
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.ENCRYPT_MODE, getSecretKey());
-            byte[] encryptedBytes = cipher.doFinal(plainText.getBytes());
-            return Base64.getEncoder().encodeToString(encryptedBytes);
+            return "v" + keyVersion + ":" + BASE64_ENCODER.encodeToString(
+                    gcm(keyVersion).encrypt(plainText.getBytes(StandardCharsets.UTF_8)));
         } catch (Exception e) {
             throw new RuntimeException("Error encrypting data", e);
         }
@@ -45,16 +109,52 @@ public class EncryptionService {
 
     public String decrypt(String encryptedText) {
         try {
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.DECRYPT_MODE, getSecretKey());
-            byte[] decodedBytes = Base64.getDecoder().decode(encryptedText);
-            byte[] decryptedBytes = cipher.doFinal(decodedBytes);
-            return new String(decryptedBytes);
+            int version = keyVersionOf(encryptedText);
+            byte[] plainText = version > 0
+                    ? gcm(version).decrypt(BASE64_DECODER.decode(encryptedText.substring(encryptedText.indexOf(':') + 1)))
+                    : legacy().decrypt(BASE64_DECODER.decode(encryptedText));
+            return new String(plainText, StandardCharsets.UTF_8);
         } catch (Exception e) {
             throw new RuntimeException("Error decrypting data", e);
         }
     }
 
+    public int keyVersionOf(String encryptedText) {
+        int separator = encryptedText.indexOf(':');
+        if (separator < 2 || encryptedText.charAt(0) != 'v') {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(encryptedText, 1, separator, 10);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public boolean needsReEncryption(String encryptedText) {
+        return keyVersionOf(encryptedText) != keyVersion;
+    }
+
+    public String hash(String cardNumber) {
+        return hasher().hash(cardNumber.replaceAll("\\s", ""));
+    }
+
+    public List<String> encryptAll(Collection<String> plainTexts) {
+        List<String> encrypted = new ArrayList<>(plainTexts.size());
+        for (String plainText : plainTexts) {
+            encrypted.add(encrypt(plainText));
+        }
+        return encrypted;
+    }
+
+    public List<String> decryptAll(Collection<String> encryptedTexts) {
+        List<String> decrypted = new ArrayList<>(encryptedTexts.size());
+        for (String encryptedText : encryptedTexts) {
+            decrypted.add(decrypt(encryptedText));
+        }
+        return decrypted;
+    }
+
     public String createMask(String cardNumber) {
         if (cardNumber == null || cardNumber.length() < 4) {
             return "****";
@@ -94,4 +194,4 @@ public class EncryptionService {
         
         return formatted.toString();
     }
-}
\ No newline at end of file
+}
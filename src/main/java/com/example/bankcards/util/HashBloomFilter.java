@@ -0,0 +1,65 @@
+package com.example.bankcards.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class HashBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    private HashBloomFilter(long bitCount, int hashFunctions) {
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        this.bitCount = bitCount;
+        this.hashFunctions = hashFunctions;
+    }
+
+    public static HashBloomFilter create(long expectedEntries, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long entries = Math.max(1, expectedEntries);
+        long bitCount = Math.max(64, (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        bitCount = Math.min(bitCount, 64L * Integer.MAX_VALUE);
+        int hashFunctions = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+        return new HashBloomFilter(bitCount, hashFunctions);
+    }
+
+    public void put(String hash) {
+        long h1 = Long.parseUnsignedLong(hash, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(hash, 16, 32, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(String hash) {
+        long h1 = Long.parseUnsignedLong(hash, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(hash, 16, 32, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    public long getSizeInBytes() {
+        return (long) bits.length() * Long.BYTES;
+    }
+}
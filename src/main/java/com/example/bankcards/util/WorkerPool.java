@@ -0,0 +1,63 @@
+package com.example.bankcards.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class WorkerPool {
+
+    private final String name;
+    private final int workerCount;
+    private final ExecutorService workers;
+
+    public WorkerPool(String name, int workerCount) {
+        this.name = name;
+        this.workerCount = workerCount;
+        this.workers = Executors.newFixedThreadPool(workerCount, daemonThreads(name + "-worker"));
+    }
+
+    public static ThreadFactory daemonThreads(String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public <T, R> List<R> mapSlices(List<T> items, Function<List<T>, List<R>> work) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int sliceSize = (items.size() + workerCount - 1) / workerCount;
+        List<Callable<List<R>>> slices = new ArrayList<>(workerCount);
+        for (int from = 0; from < items.size(); from += sliceSize) {
+            List<T> slice = items.subList(from, Math.min(from + sliceSize, items.size()));
+            slices.add(() -> work.apply(slice));
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        try {
+            for (Future<List<R>> result : workers.invokeAll(slices)) {
+                results.addAll(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(name + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(name + " worker failed", e.getCause());
+        }
+        return results;
+    }
+
+    public void shutdownNow() {
+        workers.shutdownNow();
+    }
+}
@@ -3,12 +3,16 @@ package com.example.bankcards.controller;
 import com.example.bankcards.dto.CardMapper;
 import com.example.bankcards.dto.CardResponse;
 import com.example.bankcards.dto.CreateCardRequest;
+import com.example.bankcards.dto.ExpirySweepResult;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.CardStatus;
 import com.example.bankcards.entity.Role;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.security.CustomUserDetailsService;
+import com.example.bankcards.security.TokenRevocationService;
 import com.example.bankcards.service.AuthService;
+import com.example.bankcards.service.CardExpiryService;
+import com.example.bankcards.service.CardReEncryptionJob;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.UserRepository;
 import com.example.bankcards.service.CardService;
@@ -50,6 +54,15 @@ class AdminControllerTest {
     @MockBean
     private CardMapper cardMapper;
 
+    @MockBean
+    private CardExpiryService cardExpiryService;
+
+    @MockBean
+    private CardReEncryptionJob cardReEncryptionJob;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
 
     @MockBean
     private CustomUserDetailsService customUserDetailsService;
@@ -192,11 +205,84 @@ class AdminControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void updateCardStatuses_Success() throws Exception {
-        doNothing().when(cardService).updateCardStatus();
+        when(cardExpiryService.expireCards()).thenReturn(new ExpirySweepResult(3, 2, 15));
 
         mockMvc.perform(post("/api/admin/cards/update-status"))
                 .andExpect(status().isOk())
-                .andExpect(content().string("Card statuses updated successfully"));
+                .andExpect(jsonPath("$.expiredCards").value(3))
+                .andExpect(jsonPath("$.chunks").value(2))
+                .andExpect(jsonPath("$.elapsedMs").value(15));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void startCardReEncryption_Accepted() throws Exception {
+        when(cardReEncryptionJob.start()).thenReturn(true);
+
+        mockMvc.perform(post("/api/admin/jobs/card-re-encryption"))
+                .andExpect(status().isAccepted())
+                .andExpect(content().string("Card re-encryption started"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void startCardReEncryption_AlreadyRunning_ReturnsConflict() throws Exception {
+        when(cardReEncryptionJob.start()).thenReturn(false);
+
+        mockMvc.perform(post("/api/admin/jobs/card-re-encryption"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void revokeUserTokens_Success() throws Exception {
+        mockMvc.perform(post("/api/admin/users/ivan_ivanov/revoke-tokens"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Tokens revoked for user: ivan_ivanov"));
+
+        verify(tokenRevocationService).revokeAll("ivan_ivanov");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void revokeUserTokens_UserNotFound_ReturnsBadRequest() throws Exception {
+        doThrow(new RuntimeException("User not found: ghost")).when(tokenRevocationService).revokeAll("ghost");
+
+        mockMvc.perform(post("/api/admin/users/ghost/revoke-tokens"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("User not found: ghost"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void issueCards_UnsupportedContentType_Returns415() throws Exception {
+        mockMvc.perform(post("/api/admin/cards/issue/batch")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<rows/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void issueCards_AccessDenied_NotAdmin() throws Exception {
+        mockMvc.perform(post("/api/admin/cards/issue/batch")
+                        .contentType("text/csv")
+                        .content("ivan_ivanov,IVAN IVANOV"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getExpiringCardsReport_UnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/api/admin/reports/expiring-cards").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Unsupported report format: xml"));
+    }
+
+    @Test
+    void getExpiringCardsReport_AccessDenied_NotAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/reports/expiring-cards"))
+                .andExpect(status().isForbidden());
     }
 
     @Test
@@ -0,0 +1,202 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.JwtUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HTTP load test for POST /api/cards/transfer. Subclasses pick the request thread model;
+ * both run with the same Tomcat thread limit and Hikari pool so their p99 latency and
+ * peak concurrent requests can be compared. Run with {@code -DloadTest=true}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import(AbstractTransferLoadTest.ConcurrencyProbe.class)
+@TestPropertySource(properties = {
+        "server.tomcat.threads.max=" + AbstractTransferLoadTest.TOMCAT_THREADS,
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "spring.datasource.hikari.connection-timeout=30000"
+})
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+abstract class AbstractTransferLoadTest {
+
+    static final int TOMCAT_THREADS = 50;
+    private static final int USERS = 50;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 25;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100000.00");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ConcurrencyProbe concurrencyProbe;
+
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Long[]> cardPairs = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+
+        for (int u = 0; u < USERS; u++) {
+            User user = userRepository.save(new User("load_user_" + u, "password", "load" + u + "@bank.com", Role.USER));
+            Long[] pair = new Long[2];
+            for (int c = 0; c < 2; c++) {
+                Card card = new Card("enc_load_" + u + "_" + c, "**** **** **** " + String.format("%04d", u * 2 + c),
+                        "LOAD USER", LocalDate.now().plusYears(3), user);
+                card.setBalance(INITIAL_BALANCE);
+                pair[c] = cardRepository.save(card).getId();
+            }
+            cardPairs.add(pair);
+            tokens.add(jwtUtil.generateToken(user));
+        }
+        concurrencyProbe.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    protected abstract String mode();
+
+    protected abstract void assertPeakConcurrency(int maxConcurrent);
+
+    @Test
+    void transferLoad_ReportsLatencyAndConcurrency() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            int user = c % USERS;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                    Long[] pair = cardPairs.get(user);
+                    Long from = pair[i % 2];
+                    Long to = pair[(i + 1) % 2];
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/cards/transfer"))
+                            .header("Authorization", "Bearer " + tokens.get(user))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"fromCardId\":" + from + ",\"toCardId\":" + to + ",\"amount\":1.00}"))
+                            .build();
+                    long startedAt = System.nanoTime();
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    latencies[next.getAndIncrement()] = System.nanoTime() - startedAt;
+                    if (response.statusCode() != 200) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        double p50 = latencies[latencies.length / 2] / 1_000_000.0;
+        double p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1] / 1_000_000.0;
+        int maxConcurrent = concurrencyProbe.maxConcurrent();
+        System.out.printf("%s threads: %d requests in %.2fs (%.1f req/sec), %d failed, p50 %.1f ms, p99 %.1f ms, "
+                        + "max concurrent requests %d%n",
+                mode(), latencies.length, elapsedSeconds, latencies.length / elapsedSeconds, failed.get(), p50, p99,
+                maxConcurrent);
+
+        BigDecimal total = cardRepository.findAll().stream()
+                .map(Card::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(total).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(USERS * 2L)));
+        assertThat(failed.get()).isLessThan(latencies.length);
+        assertPeakConcurrency(maxConcurrent);
+    }
+
+    static class ConcurrencyProbe extends OncePerRequestFilter {
+
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            max.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+
+        void reset() {
+            max.set(0);
+        }
+
+        int maxConcurrent() {
+            return max.get();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.BulkCardIssuanceService;
+import com.example.bankcards.util.EncryptionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "card-issue.batch-size=2")
+class BulkCardIssuanceIntegrationTest {
+
+    @Autowired
+    private BulkCardIssuanceService bulkCardIssuanceService;
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User ivan;
+    private User petr;
+
+    @BeforeEach
+    void setUp() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+
+        ivan = userRepository.save(new User("ivan_ivanov", "password", "ivan@ivanov.com", Role.USER));
+        petr = userRepository.save(new User("petr_petrov", "password", "petr@petrov.com", Role.USER));
+        for (int i = 0; i < 4; i++) {
+            cardRepository.save(new Card("enc_" + i, "**** **** **** 000" + i, "IVAN IVANOV",
+                    LocalDate.now().plusYears(3), ivan));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private String[] issue(String input, BulkCardIssuanceService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bulkCardIssuanceService.issue(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format, out);
+        return out.toString(StandardCharsets.UTF_8).split("\n");
+    }
+
+    @Test
+    void issue_Csv_ReportsEachRowAndEnforcesCardLimitAcrossBatches() throws IOException {
+        String[] results = issue("""
+                username,cardHolder
+                ivan_ivanov,IVAN IVANOV
+                petr_petrov,"PETROV, PETR"
+                ghost,GHOST USER
+                petr_petrov,P
+                ivan_ivanov,IVAN IVANOV
+                """, BulkCardIssuanceService.Format.CSV);
+
+        assertThat(results).hasSize(5);
+        assertThat(results[0]).contains("\"line\":2", "\"success\":true");
+        assertThat(results[1]).contains("\"line\":3", "\"cardHolder\":\"PETROV, PETR\"", "\"success\":true");
+        assertThat(results[2]).contains("\"success\":false", "User not found: ghost");
+        assertThat(results[3]).contains("\"success\":false", "Card holder name must be between 2 and 100 characters");
+        assertThat(results[4]).contains("\"line\":6", "\"success\":false", "Maximum number of cards reached (5)");
+
+        assertThat(cardRepository.countByOwnerId(ivan.getId())).isEqualTo(5);
+        List<Card> petrCards = cardRepository.findByOwnerIdAndStatus(petr.getId(), CardStatus.ACTIVE);
+        assertThat(petrCards).hasSize(1);
+        Card issued = petrCards.get(0);
+        String cardNumber = encryptionService.decrypt(issued.getEncryptedCardNumber());
+        assertThat(issued.getCardNumberHash()).isEqualTo(encryptionService.hash(cardNumber));
+        assertThat(issued.getMaskedCardNumber()).isEqualTo(encryptionService.createMask(cardNumber));
+        assertThat(issued.getVersion()).isZero();
+    }
+
+    @Test
+    void issue_Ndjson_IssuesCardsAndFlagsMalformedRows() throws IOException {
+        String[] results = issue("""
+                {"username":"petr_petrov","cardHolder":"PETR PETROV"}
+                {"username":"petr_petrov"
+                {"username":"petr_petrov","cardHolder":"PETR PETROV"}
+                """, BulkCardIssuanceService.Format.NDJSON);
+
+        assertThat(results).hasSize(3);
+        assertThat(results[0]).contains("\"success\":true");
+        assertThat(results[1]).contains("\"success\":false", "Malformed row");
+        assertThat(results[2]).contains("\"success\":true");
+        assertThat(cardRepository.countByOwnerId(petr.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void issue_ConcurrentRequestsForSameOwner_StayWithinCardLimit() throws Exception {
+        String input = "ivan_ivanov,IVAN IVANOV\nivan_ivanov,IVAN IVANOV\n";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String[]>> requests = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                requests.add(executor.submit(() -> issue(input, BulkCardIssuanceService.Format.CSV)));
+            }
+            for (Future<String[]> request : requests) {
+                request.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cardRepository.countByOwnerId(ivan.getId())).isEqualTo(5);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bankcards.integration;
 
+import com.example.bankcards.dto.CardMapper;
 import com.example.bankcards.dto.LoginRequest;
 import com.example.bankcards.dto.LoginResponse;
 import com.example.bankcards.dto.RegisterRequest;
@@ -18,6 +19,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -39,6 +41,9 @@ class CardIntegrationTest {
     @Autowired
     private CardRepository cardRepository;
 
+    @Autowired
+    private CardMapper cardMapper;
+
     private String testUsername = "ivan_ivanov";
     private String testPassword = "password123";
     private String testEmail = "ivan@ivanov.com";
@@ -100,6 +105,20 @@ class CardIntegrationTest {
         assertThat(updatedCard2.getBalance()).isEqualByComparingTo(new BigDecimal("700.00"));
     }
 
+    @Test
+    void expiredCard_ServedAsExpiredBeforeSweep() {
+        RegisterRequest registerRequest = new RegisterRequest(testUsername, testPassword, testEmail);
+        authService.registerUser(registerRequest);
+
+        Card card = cardService.createCard(testUsername, "Иван Иванов");
+        card.setExpiryDate(LocalDate.now().minusDays(1));
+        cardRepository.save(card);
+
+        assertThat(cardService.getUserActiveCards(testUsername)).isEmpty();
+        assertThat(cardMapper.toResponse(cardService.getCardById(card.getId(), testUsername)).status())
+                .isEqualTo(CardStatus.EXPIRED);
+    }
+
     @Test
     void maxCardsLimit_EnforcedCorrectly() {
         RegisterRequest registerRequest = new RegisterRequest(testUsername, testPassword, testEmail);
@@ -0,0 +1,78 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.JobLockRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.CardNumberHashBackfill;
+import com.example.bankcards.util.EncryptionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "encryption.hash-backfill.chunk-size=2")
+class CardNumberHashBackfillTest {
+
+    @Autowired
+    private CardNumberHashBackfill backfill;
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @BeforeEach
+    void setUp() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+        jobLockRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void backfill_FillsHashesInChunksAndSkipsUnreadableNumbers() {
+        User user = userRepository.save(new User("ivan_ivanov", "password", "ivan@ivanov.com", Role.USER));
+        String[] numbers = {"4000123456789012", "5000123456789012", "2200123456789012"};
+        for (String number : numbers) {
+            cardRepository.save(new Card(encryptionService.encrypt(number), encryptionService.createMask(number),
+                    "IVAN IVANOV", LocalDate.now().plusYears(3), user));
+        }
+        Card unreadable = cardRepository.save(new Card("enc_4000001234567890", "4000 **** **** 7890",
+                "IVAN IVANOV", LocalDate.now().plusYears(3), user));
+
+        long filled = backfill.backfill();
+
+        assertThat(filled).isEqualTo(3);
+        for (String number : numbers) {
+            assertThat(cardRepository.findByCardNumberHash(encryptionService.hash(number)))
+                    .hasValueSatisfying(card -> assertThat(card.getVersion()).isZero());
+        }
+        assertThat(cardRepository.findById(unreadable.getId()).orElseThrow().getCardNumberHash()).isNull();
+        assertThat(jobLockRepository.findById("card-number-hash-backfill").orElseThrow().getLastProcessed())
+                .isEqualTo(3L);
+    }
+}
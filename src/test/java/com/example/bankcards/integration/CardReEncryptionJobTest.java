@@ -0,0 +1,126 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.JobLock;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.JobLockRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.CardReEncryptionJob;
+import com.example.bankcards.util.EncryptionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "encryption.key=rotatedEncryptionKey7654321",
+        "encryption.key-version=2",
+        "encryption.old-keys.1=testEncryptionKey1234567",
+        "encryption.re-encryption.chunk-size=2",
+        "encryption.re-encryption.workers=2"
+})
+class CardReEncryptionJobTest {
+
+    private static final String JOB_NAME = "card-re-encryption";
+    private static final String[] NUMBERS = {"4000123456789012", "5000123456789012", "2200123456789012"};
+
+    @Autowired
+    private CardReEncryptionJob job;
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    private final EncryptionService previousKey = new EncryptionService();
+    private final List<Card> cards = new ArrayList<>();
+    private Card unreadable;
+
+    @BeforeEach
+    void setUp() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+        jobLockRepository.deleteAll();
+
+        ReflectionTestUtils.setField(previousKey, "encryptionKey", "testEncryptionKey1234567");
+        ReflectionTestUtils.setField(previousKey, "hashKey", "testCardNumberHashKey1234567");
+
+        User user = userRepository.save(new User("ivan_ivanov", "password", "ivan@ivanov.com", Role.USER));
+        cards.clear();
+        for (String number : NUMBERS) {
+            cards.add(cardRepository.save(new Card(previousKey.encrypt(number), previousKey.createMask(number),
+                    "IVAN IVANOV", LocalDate.now().plusYears(3), user)));
+        }
+        unreadable = cardRepository.save(new Card("enc_4000001234567890", "4000 **** **** 7890",
+                "IVAN IVANOV", LocalDate.now().plusYears(3), user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void run_ReEncryptsAllCardsUnderCurrentKeyVersion() {
+        long reEncrypted = job.run();
+
+        assertThat(reEncrypted).isEqualTo(3);
+        for (int i = 0; i < NUMBERS.length; i++) {
+            String stored = cardRepository.findById(cards.get(i).getId()).orElseThrow().getEncryptedCardNumber();
+            assertThat(stored).startsWith("v2:");
+            assertThat(encryptionService.decrypt(stored)).isEqualTo(NUMBERS[i]);
+        }
+        assertThat(cardRepository.findById(unreadable.getId()).orElseThrow().getEncryptedCardNumber())
+                .isEqualTo("enc_4000001234567890");
+        assertThat(jobLockRepository.findById(JOB_NAME).orElseThrow().getCheckpoint()).isEqualTo("2:complete");
+
+        assertThat(job.run()).isZero();
+    }
+
+    @Test
+    void run_ResumesAfterCheckpoint() {
+        JobLock lock = new JobLock(JOB_NAME);
+        lock.setCheckpoint("2:" + cards.get(1).getId());
+        jobLockRepository.save(lock);
+
+        long reEncrypted = job.run();
+
+        assertThat(reEncrypted).isEqualTo(1);
+        assertThat(cardRepository.findById(cards.get(0).getId()).orElseThrow().getEncryptedCardNumber())
+                .startsWith("v1:");
+        assertThat(cardRepository.findById(cards.get(2).getId()).orElseThrow().getEncryptedCardNumber())
+                .startsWith("v2:");
+        assertThat(jobLockRepository.findById(JOB_NAME).orElseThrow().getLastProcessed()).isEqualTo(1L);
+    }
+
+    @Test
+    void run_CheckpointFromPreviousKeyVersion_StartsOver() {
+        JobLock lock = new JobLock(JOB_NAME);
+        lock.setCheckpoint("1:complete");
+        jobLockRepository.save(lock);
+
+        assertThat(job.run()).isEqualTo(3);
+    }
+}
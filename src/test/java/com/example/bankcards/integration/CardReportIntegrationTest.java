@@ -0,0 +1,71 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.CardReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CardReportIntegrationTest {
+
+    @Autowired
+    private CardReportService cardReportService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(new User("ivan_ivanov", "password", "ivan@ivanov.com", Role.USER));
+        cardRepository.save(new Card("enc_1", "**** **** **** 0001", "Иванов, Иван", LocalDate.now().plusDays(5), user));
+        cardRepository.save(new Card("enc_2", "**** **** **** 0002", "IVAN IVANOV", LocalDate.now().plusDays(20), user));
+        cardRepository.save(new Card("enc_3", "**** **** **** 0003", "IVAN IVANOV", LocalDate.now().plusDays(100), user));
+    }
+
+    @Test
+    void writeExpiringCards_Ndjson_OneObjectPerLineOrderedByExpiry() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = cardReportService.writeExpiringCards(30, CardReportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"maskedCardNumber\":\"**** **** **** 0001\"", "\"owner\":\"ivan_ivanov\"");
+        assertThat(lines[1]).contains("\"maskedCardNumber\":\"**** **** **** 0002\"");
+    }
+
+    @Test
+    void writeExpiringCards_Csv_HeaderAndEscapedFields() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        cardReportService.writeExpiringCards(30, CardReportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("id,maskedCardNumber,cardHolder,expiryDate,status,owner");
+        assertThat(lines[1]).contains(",\"Иванов, Иван\"," + LocalDate.now().plusDays(5) + ",ACTIVE,ivan_ivanov");
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.entity.JobLock;
+import com.example.bankcards.exception.LeaseLostException;
+import com.example.bankcards.repository.JobLockRepository;
+import com.example.bankcards.service.JobLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JobLockIntegrationTest {
+
+    private static final String JOB_NAME = "test-job";
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jobLockRepository.deleteAll();
+    }
+
+    @Test
+    void tryAcquire_OnlyOneInstanceHoldsLease() {
+        assertThat(jobLockService.tryAcquire(JOB_NAME, Duration.ofMinutes(5))).isTrue();
+
+        LocalDateTime now = LocalDateTime.now();
+        Integer otherInstance = transactionTemplate.execute(status ->
+                jobLockRepository.tryAcquire(JOB_NAME, "other-node", now, now.plusMinutes(5)));
+
+        assertThat(otherInstance).isZero();
+        assertThat(jobLockService.renew(JOB_NAME, Duration.ofMinutes(5))).isTrue();
+    }
+
+    @Test
+    void tryAcquire_ExpiredLease_TakenOverByAnotherInstance() {
+        assertThat(jobLockService.tryAcquire(JOB_NAME, Duration.ofMinutes(5))).isTrue();
+        JobLock lock = jobLockRepository.findById(JOB_NAME).orElseThrow();
+        lock.setLockedUntil(LocalDateTime.now().minusSeconds(1));
+        jobLockRepository.save(lock);
+
+        LocalDateTime now = LocalDateTime.now();
+        Integer takenOver = transactionTemplate.execute(status ->
+                jobLockRepository.tryAcquire(JOB_NAME, "other-node", now, now.plusMinutes(5)));
+
+        assertThat(takenOver).isEqualTo(1);
+        assertThat(jobLockService.renew(JOB_NAME, Duration.ofMinutes(5))).isFalse();
+        assertThatThrownBy(() -> jobLockService.renewOrThrow(JOB_NAME, Duration.ofMinutes(5)))
+                .isInstanceOf(LeaseLostException.class)
+                .hasMessage("Lease on job test-job was lost");
+    }
+
+    @Test
+    void release_RecordsLastRunStats() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        assertThat(jobLockService.tryAcquire(JOB_NAME, Duration.ofMinutes(5))).isTrue();
+
+        jobLockService.release(JOB_NAME, startedAt, 42L, 120L, null);
+
+        JobLock lock = jobLockRepository.findById(JOB_NAME).orElseThrow();
+        assertThat(lock.getLockedUntil()).isNull();
+        assertThat(lock.getLastRunBy()).isEqualTo(jobLockService.getInstanceId());
+        assertThat(lock.getLastProcessed()).isEqualTo(42L);
+        assertThat(lock.getLastElapsedMs()).isEqualTo(120L);
+        assertThat(jobLockService.tryAcquire(JOB_NAME, Duration.ofMinutes(5))).isTrue();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.bankcards.integration;
+
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadTransferLoadTest extends AbstractTransferLoadTest {
+
+    @Override
+    protected String mode() {
+        return "Platform";
+    }
+
+    @Override
+    protected void assertPeakConcurrency(int maxConcurrent) {
+        assertThat(maxConcurrent).isLessThanOrEqualTo(TOMCAT_THREADS);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.CardService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransferConcurrencyTest {
+
+    private static final int CARD_COUNT = 4;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 50;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("10000.00");
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String username = "load_user";
+    private final List<Long> cardIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(new User(username, "password", "load@bank.com", Role.USER));
+        for (int i = 0; i < CARD_COUNT; i++) {
+            Card card = new Card("enc_load_" + i, "**** **** **** 000" + i, "LOAD USER",
+                    LocalDate.now().plusYears(3), user);
+            card.setBalance(INITIAL_BALANCE);
+            cardIds.add(cardRepository.save(card).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentTransfers_PreserveTotalAndPerCardBalances() throws Exception {
+        Map<Long, BigDecimal> expectedBalances = new ConcurrentHashMap<>();
+        cardIds.forEach(id -> expectedBalances.put(id, INITIAL_BALANCE));
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int from = random.nextInt(CARD_COUNT);
+                    int to = (from + 1 + random.nextInt(CARD_COUNT - 1)) % CARD_COUNT;
+                    BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(20));
+                    try {
+                        cardService.transferMoney(cardIds.get(from), cardIds.get(to), amount, username);
+                        expectedBalances.merge(cardIds.get(from), amount.negate(), BigDecimal::add);
+                        expectedBalances.merge(cardIds.get(to), amount, BigDecimal::add);
+                        completed.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        executor.shutdown();
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Card card : cardRepository.findAllById(cardIds)) {
+            assertThat(card.getBalance()).isEqualByComparingTo(expectedBalances.get(card.getId()));
+            total = total.add(card.getBalance());
+        }
+
+        assertThat(total).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(CARD_COUNT)));
+        assertThat(completed.get()).isPositive();
+        assertThat(countLedgerEntries()).isEqualTo(2L * completed.get());
+        System.out.printf("Concurrent transfers: %d completed, %d rejected in %.2fs (%.1f transfers/sec)%n",
+                completed.get(), rejected.get(), elapsedSeconds, completed.get() / elapsedSeconds);
+    }
+
+    private long countLedgerEntries() {
+        String placeholders = String.join(",", Collections.nCopies(cardIds.size(), "?"));
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM card_transactions WHERE card_id IN (" + placeholders + ")",
+                Long.class, cardIds.toArray());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.bankcards.integration;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadTransferLoadTest extends AbstractTransferLoadTest {
+
+    @Override
+    protected String mode() {
+        return "Virtual";
+    }
+
+    @Override
+    protected void assertPeakConcurrency(int maxConcurrent) {
+        assertThat(maxConcurrent).isGreaterThan(TOMCAT_THREADS);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test_jwt_secret_key_min_64_chars_long_used_only_by_the_filter_test_01";
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 900000L);
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", tokenRevocationService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void doFilter_BuildsAuthenticationFromClaims() throws Exception {
+        User user = new User("ivan_ivanov", "password", "ivan@ivanov.com", Role.ADMIN);
+        user.setId(42L);
+
+        Authentication authentication = authenticate(jwtUtil.generateToken(user));
+
+        assertThat(authentication.getName()).isEqualTo("ivan_ivanov");
+        JwtPrincipal principal = (JwtPrincipal) authentication.getPrincipal();
+        assertThat(principal.userId()).isEqualTo(42L);
+        assertThat(principal.role()).isEqualTo(Role.ADMIN);
+        assertThat(principal.tokenId()).isNotBlank();
+        assertThat(principal.expiresAt()).isAfter(principal.issuedAt());
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void doFilter_RevokedToken_NotAuthenticated() throws Exception {
+        User user = new User("ivan_ivanov", "password", "ivan@ivanov.com", Role.USER);
+        user.setId(42L);
+        when(tokenRevocationService.isRevoked(any(JwtPrincipal.class))).thenReturn(true);
+
+        assertThat(authenticate(jwtUtil.generateToken(user))).isNull();
+    }
+
+    @Test
+    void doFilter_TokenWithoutRoleClaim_NotAuthenticated() throws Exception {
+        String token = Jwts.builder()
+                .subject("ivan_ivanov")
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    void doFilter_ForeignSignature_NotAuthenticated() throws Exception {
+        String token = Jwts.builder()
+                .subject("ivan_ivanov")
+                .claim("role", "ADMIN")
+                .signWith(Keys.hmacShaKeyFor("another_secret_key_min_64_chars_long_for_a_forged_token_000000".getBytes()))
+                .compact();
+
+        assertThat(authenticate(token)).isNull();
+    }
+}
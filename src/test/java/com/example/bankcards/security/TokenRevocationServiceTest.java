@@ -0,0 +1,130 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.entity.RevokedToken;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.repository.RevokedTokenRepository;
+import com.example.bankcards.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService.init();
+    }
+
+    private static JwtPrincipal principal(String tokenId, Instant issuedAt) {
+        return new JwtPrincipal(1L, "ivan_ivanov", Role.USER, tokenId, issuedAt, issuedAt.plus(15, ChronoUnit.MINUTES));
+    }
+
+    @Test
+    void revoke_StoresJtiAndRejectsOnlyThatToken() {
+        Instant now = Instant.now();
+        JwtPrincipal revoked = principal("jti-1", now);
+
+        tokenRevocationService.revoke(revoked);
+
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getJti()).isEqualTo("jti-1");
+        assertThat(tokenRevocationService.isRevoked(revoked)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(principal("jti-2", now))).isFalse();
+        assertThat(meterRegistry.get("jwt.revoked.tokens").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void revoke_InTransaction_AppliedOnlyAfterCommit() {
+        JwtPrincipal revoked = principal("jti-1", Instant.now());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenRevocationService.revoke(revoked);
+
+            assertThat(tokenRevocationService.isRevoked(revoked)).isFalse();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(tokenRevocationService.isRevoked(revoked)).isTrue();
+    }
+
+    @Test
+    void revokeAll_RejectsTokensIssuedBeforeRevocation() {
+        when(userRepository.existsByUsername("ivan_ivanov")).thenReturn(true);
+
+        tokenRevocationService.revokeAll("ivan_ivanov");
+
+        assertThat(tokenRevocationService.isRevoked(principal("old", Instant.now().minusSeconds(60)))).isTrue();
+        assertThat(tokenRevocationService.isRevoked(principal("new", Instant.now().plusSeconds(2)))).isFalse();
+    }
+
+    @Test
+    void revokeAll_UnknownUser_ThrowsException() {
+        when(userRepository.existsByUsername("ghost")).thenReturn(false);
+
+        assertThatThrownBy(() -> tokenRevocationService.revokeAll("ghost"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("User not found: ghost");
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void sync_LoadsAllUnexpiredThenOnlyRecentRevocations() {
+        RevokedToken fromOtherNode = new RevokedToken("jti-1", "ivan_ivanov", LocalDateTime.now().plusMinutes(10));
+        RevokedToken later = new RevokedToken("jti-2", "ivan_ivanov", LocalDateTime.now().plusMinutes(10));
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(fromOtherNode));
+        when(revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(any(), any())).thenReturn(List.of(later));
+
+        tokenRevocationService.sync();
+        assertThat(tokenRevocationService.isRevoked(principal("jti-1", Instant.now()))).isTrue();
+        assertThat(tokenRevocationService.isRevoked(principal("jti-2", Instant.now()))).isFalse();
+
+        tokenRevocationService.sync();
+        assertThat(tokenRevocationService.isRevoked(principal("jti-2", Instant.now()))).isTrue();
+        verify(revokedTokenRepository, times(1)).findByExpiresAtAfter(any());
+    }
+
+    @Test
+    void sync_DropsExpiredEntries() {
+        RevokedToken expired = new RevokedToken("jti-1", "ivan_ivanov", LocalDateTime.now().minusSeconds(1));
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(expired));
+
+        tokenRevocationService.sync();
+
+        assertThat(tokenRevocationService.isRevoked(principal("jti-1", Instant.now()))).isFalse();
+    }
+}
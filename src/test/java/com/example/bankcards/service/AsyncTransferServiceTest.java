@@ -0,0 +1,203 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.TransferResult;
+import com.example.bankcards.dto.TransferStatusResponse;
+import com.example.bankcards.entity.TransferRecord;
+import com.example.bankcards.entity.TransferStatus;
+import com.example.bankcards.repository.TransferRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncTransferServiceTest {
+
+    @Mock
+    private BatchTransferService batchTransferService;
+
+    @Mock
+    private TransferRecordRepository transferRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AsyncTransferService asyncTransferService;
+
+    private final Map<UUID, TransferRecord> saved = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(asyncTransferService, "enabled", true);
+        ReflectionTestUtils.setField(asyncTransferService, "shardCount", 2);
+        ReflectionTestUtils.setField(asyncTransferService, "queueCapacity", 100);
+        ReflectionTestUtils.setField(asyncTransferService, "groupSize", 10);
+
+        lenient().when(batchTransferService.applyQueued(anyList())).thenAnswer(invocation -> {
+            List<QueuedTransfer> group = invocation.getArgument(0);
+            return IntStream.range(0, group.size())
+                    .mapToObj(i -> new TransferResult(i, group.get(i).fromCardId(), group.get(i).toCardId(),
+                            group.get(i).amount(), true, null))
+                    .toList();
+        });
+        lenient().when(transferRecordRepository.save(any(TransferRecord.class))).thenAnswer(invocation -> {
+            TransferRecord record = invocation.getArgument(0);
+            saved.put(record.getTransferId(), record);
+            return record;
+        });
+        lenient().when(transferRecordRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            Collection<TransferRecord> records = invocation.getArgument(0);
+            records.forEach(record -> saved.put(record.getTransferId(), record));
+            return List.copyOf(records);
+        });
+        lenient().when(transferRecordRepository.findByTransferIdInAndStatus(anyCollection(), eq(TransferStatus.PENDING)))
+                .thenAnswer(invocation -> {
+                    Collection<UUID> ids = invocation.getArgument(0);
+                    return ids.stream()
+                            .map(saved::get)
+                            .filter(record -> record != null && record.getStatus() == TransferStatus.PENDING)
+                            .toList();
+                });
+        lenient().when(transferRecordRepository.findByTransferId(any(UUID.class)))
+                .thenAnswer(invocation -> Optional.ofNullable(saved.get(invocation.<UUID>getArgument(0))));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        asyncTransferService.stop();
+    }
+
+    @Test
+    void submit_AppliesTransfersAndRecordsOutcome() {
+        asyncTransferService.start();
+
+        UUID first = asyncTransferService.submit(1L, 2L, new BigDecimal("10.00"), "ivan_ivanov");
+        UUID second = asyncTransferService.submit(2L, 1L, new BigDecimal("5.00"), "ivan_ivanov");
+
+        await(() -> statusOf(first) == TransferStatus.COMPLETED && statusOf(second) == TransferStatus.COMPLETED);
+
+        TransferStatusResponse status = asyncTransferService.getStatus(first, "ivan_ivanov");
+        assertThat(status.status()).isEqualTo(TransferStatus.COMPLETED);
+        assertThat(status.amount()).isEqualByComparingTo(new BigDecimal("10.00"));
+    }
+
+    @Test
+    void getStatus_OtherUser_ThrowsNotFound() {
+        asyncTransferService.start();
+
+        UUID transferId = asyncTransferService.submit(1L, 2L, new BigDecimal("10.00"), "ivan_ivanov");
+
+        assertThatThrownBy(() -> asyncTransferService.getStatus(transferId, "petr_petrov"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Transfer not found");
+    }
+
+    @Test
+    void submit_PersistsPendingTransferBeforeAccepting() {
+        asyncTransferService.start();
+        ReflectionTestUtils.setField(asyncTransferService, "stopping", true);
+
+        assertThatThrownBy(() -> asyncTransferService.submit(1L, 2L, BigDecimal.ONE, "ivan_ivanov"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Transfer service is shutting down, please retry later");
+        ReflectionTestUtils.setField(asyncTransferService, "stopping", false);
+
+        UUID transferId = asyncTransferService.submit(1L, 2L, BigDecimal.ONE, "ivan_ivanov");
+
+        ArgumentCaptor<TransferRecord> pending = ArgumentCaptor.forClass(TransferRecord.class);
+        verify(transferRecordRepository).save(pending.capture());
+        assertThat(pending.getValue().getTransferId()).isEqualTo(transferId);
+        assertThat(pending.getValue().getStatus()).isEqualTo(TransferStatus.PENDING);
+        assertThat(pending.getValue().getCompletedAt()).isNull();
+    }
+
+    @Test
+    void stop_DrainsQueuedTransfers() throws InterruptedException {
+        asyncTransferService.start();
+        List<UUID> ids = IntStream.range(0, 50)
+                .mapToObj(i -> asyncTransferService.submit(1L, 2L, BigDecimal.ONE, "user_" + i))
+                .toList();
+
+        asyncTransferService.stop();
+
+        assertThat(ids).allMatch(id -> statusOf(id) == TransferStatus.COMPLETED);
+    }
+
+    @Test
+    void recoverPending_RequeuesPendingTransfers() {
+        TransferRecord record = pendingRecord();
+        when(transferRecordRepository.findByStatusOrderByCreatedAtAsc(TransferStatus.PENDING)).thenReturn(List.of(record));
+        asyncTransferService.start();
+
+        asyncTransferService.recoverPending();
+
+        await(() -> statusOf(record.getTransferId()) == TransferStatus.COMPLETED);
+    }
+
+    @Test
+    void recoverPending_TransferNoLongerPending_NotAppliedAgain() {
+        TransferRecord record = pendingRecord();
+        when(transferRecordRepository.findByStatusOrderByCreatedAtAsc(TransferStatus.PENDING)).thenReturn(List.of(record));
+        record.setStatus(TransferStatus.COMPLETED);
+        asyncTransferService.start();
+
+        asyncTransferService.recoverPending();
+
+        verify(transferRecordRepository, timeout(5000)).findByTransferIdInAndStatus(anyCollection(), eq(TransferStatus.PENDING));
+        verify(batchTransferService, after(200).never()).applyQueued(anyList());
+    }
+
+    @Test
+    void submit_Disabled_ThrowsException() {
+        ReflectionTestUtils.setField(asyncTransferService, "enabled", false);
+
+        assertThatThrownBy(() -> asyncTransferService.submit(1L, 2L, BigDecimal.ONE, "ivan_ivanov"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Asynchronous transfers are disabled");
+    }
+
+    private TransferRecord pendingRecord() {
+        TransferRecord record = new TransferRecord(UUID.randomUUID(), "ivan_ivanov", 1L, 2L, BigDecimal.TEN,
+                TransferStatus.PENDING, null, LocalDateTime.now());
+        saved.put(record.getTransferId(), record);
+        return record;
+    }
+
+    private TransferStatus statusOf(UUID transferId) {
+        TransferRecord record = saved.get(transferId);
+        return record == null ? null : record.getStatus();
+    }
+
+    private void await(java.util.function.BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
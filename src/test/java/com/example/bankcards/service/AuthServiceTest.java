@@ -6,7 +6,9 @@ import com.example.bankcards.dto.RegisterRequest;
 import com.example.bankcards.entity.Role;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.JwtPrincipal;
 import com.example.bankcards.security.JwtUtil;
+import com.example.bankcards.security.TokenRevocationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,12 +18,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.List;
+import java.time.Instant;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,9 +43,9 @@ public class AuthServiceTest {
     
     @Mock
     private JwtUtil jwtUtil;
-    
+
     @Mock
-    private UserDetailsService userDetailsService;
+    private TokenRevocationService tokenRevocationService;
     
     @InjectMocks
     private AuthService authService;
@@ -102,14 +101,11 @@ public class AuthServiceTest {
     @Test
     public void loginUser_Success() {
         Authentication authentication = mock(Authentication.class);
-        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
-                "ivan_ivanov", "password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
         String token = "jwt-token";
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(userDetailsService.loadUserByUsername(anyString())).thenReturn(userDetails);
-        when(jwtUtil.generateToken(any(UserDetails.class))).thenReturn(token);
+        when(jwtUtil.generateToken(user)).thenReturn(token);
         when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
 
         LoginResponse result = authService.loginUser(loginRequest);
@@ -122,17 +118,25 @@ public class AuthServiceTest {
     @Test
     public void loginUser_UserNotFound_ThrowsException() {
         Authentication authentication = mock(Authentication.class);
-        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
-                "ivan_ivanov", "password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(userDetailsService.loadUserByUsername(anyString())).thenReturn(userDetails);
-        when(jwtUtil.generateToken(any(UserDetails.class))).thenReturn("token");
         when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> authService.loginUser(loginRequest))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("User not found");
+        verify(jwtUtil, never()).generateToken(any(User.class));
+    }
+
+    @Test
+    public void logout_RevokesCurrentToken() {
+        JwtPrincipal principal = new JwtPrincipal(1L, "ivan_ivanov", Role.USER, "jti-1",
+                Instant.now(), Instant.now().plusSeconds(900));
+
+        String result = authService.logout(principal);
+
+        assertThat(result).isEqualTo("Logged out successfully");
+        verify(tokenRevocationService).revoke(principal);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,136 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.BatchTransferResponse;
+import com.example.bankcards.dto.TransferRequest;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchTransferServiceTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransferLedger transferLedger;
+
+    @InjectMocks
+    private BatchTransferService batchTransferService;
+
+    private User user;
+    private Card card1;
+    private Card card2;
+    private Card card3;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(batchTransferService, "maxBatchSize", 100);
+
+        user = new User("ivan_ivanov", "password", "ivan@ivanov.com", Role.USER);
+        user.setId(1L);
+        User other = new User("petr_petrov", "password", "petr@petrov.com", Role.USER);
+        other.setId(2L);
+
+        card1 = card(1L, user, "1000.00");
+        card2 = card(2L, user, "500.00");
+        card3 = card(3L, other, "100.00");
+    }
+
+    @Test
+    void transferAll_AppliesMovesInOrderAndReportsEachItem() {
+        when(userRepository.findByUsername("ivan_ivanov")).thenReturn(Optional.of(user));
+        when(cardRepository.findAllByIdInForUpdate(List.of(1L, 2L, 3L))).thenReturn(List.of(card1, card2, card3));
+
+        BatchTransferResponse response = batchTransferService.transferAll(List.of(
+                new TransferRequest(1L, 2L, new BigDecimal("300.00")),
+                new TransferRequest(2L, 1L, new BigDecimal("800.00")),
+                new TransferRequest(1L, 3L, new BigDecimal("10.00")),
+                new TransferRequest(2L, 1L, new BigDecimal("2000.00"))
+        ), "ivan_ivanov");
+
+        assertThat(response.succeeded()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.results()).extracting("success").containsExactly(true, true, false, false);
+        assertThat(response.results().get(2).error()).isEqualTo("Access denied");
+        assertThat(response.results().get(3).error()).isEqualTo("Insufficient funds");
+        assertThat(card1.getBalance()).isEqualByComparingTo(new BigDecimal("1500.00"));
+        assertThat(card2.getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(transferLedger, times(2)).record(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void transferAll_UnknownAndInactiveCards_AreRejectedPerItem() {
+        card2.setStatus(CardStatus.BLOCKED);
+        when(userRepository.findByUsername("ivan_ivanov")).thenReturn(Optional.of(user));
+        when(cardRepository.findAllByIdInForUpdate(List.of(1L, 2L, 99L))).thenReturn(List.of(card1, card2));
+
+        BatchTransferResponse response = batchTransferService.transferAll(List.of(
+                new TransferRequest(1L, 99L, new BigDecimal("10.00")),
+                new TransferRequest(1L, 2L, new BigDecimal("10.00"))
+        ), "ivan_ivanov");
+
+        assertThat(response.succeeded()).isZero();
+        assertThat(response.results()).extracting("error")
+                .containsExactly("Card not found", "Both cards must be active for transfer");
+        verifyNoInteractions(transferLedger);
+    }
+
+    @Test
+    void transferAllAsAdmin_SkipsOwnershipCheck() {
+        when(cardRepository.findAllByIdInForUpdate(List.of(1L, 3L))).thenReturn(List.of(card1, card3));
+
+        BatchTransferResponse response = batchTransferService.transferAllAsAdmin(List.of(
+                new TransferRequest(3L, 1L, new BigDecimal("100.00"))
+        ));
+
+        assertThat(response.succeeded()).isEqualTo(1);
+        assertThat(card3.getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(card1.getBalance()).isEqualByComparingTo(new BigDecimal("1100.00"));
+    }
+
+    @Test
+    void transferAll_TooLargeBatch_ThrowsException() {
+        ReflectionTestUtils.setField(batchTransferService, "maxBatchSize", 1);
+        when(userRepository.findByUsername("ivan_ivanov")).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> batchTransferService.transferAll(List.of(
+                new TransferRequest(1L, 2L, BigDecimal.ONE),
+                new TransferRequest(2L, 1L, BigDecimal.ONE)
+        ), "ivan_ivanov"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Batch size exceeds the limit of 1 transfers");
+
+        verifyNoInteractions(cardRepository);
+    }
+
+    private Card card(Long id, User owner, String balance) {
+        Card card = new Card("encrypted" + id, "**** **** **** 000" + id, "CARD HOLDER", LocalDate.now().plusYears(3), owner);
+        card.setId(id);
+        card.setBalance(new BigDecimal(balance));
+        return card;
+    }
+}
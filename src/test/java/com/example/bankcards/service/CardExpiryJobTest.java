@@ -0,0 +1,112 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.ExpirySweepResult;
+import com.example.bankcards.exception.LeaseLostException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardExpiryJobTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Mock
+    private CardExpiryService cardExpiryService;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @InjectMocks
+    private CardExpiryJob cardExpiryJob;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cardExpiryJob, "lease", LEASE);
+    }
+
+    @Test
+    void run_LeaseHeldElsewhere_SkipsSweep() {
+        when(jobLockService.tryAcquire(CardExpiryJob.JOB_NAME, LEASE)).thenReturn(false);
+
+        cardExpiryJob.run();
+
+        verifyNoInteractions(cardExpiryService);
+        verify(jobLockService, never()).release(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void run_LeaseAcquired_SweepsAndRecordsStats() {
+        when(jobLockService.tryAcquire(CardExpiryJob.JOB_NAME, LEASE)).thenReturn(true);
+        when(jobLockService.getCheckpoint(CardExpiryJob.JOB_NAME)).thenReturn(Optional.empty());
+        when(cardExpiryService.expireCards(any(LocalDate.class), any(Runnable.class)))
+                .thenReturn(new ExpirySweepResult(7, 2, 40));
+
+        cardExpiryJob.run();
+
+        verify(jobLockService).saveCheckpoint(CardExpiryJob.JOB_NAME, LocalDate.now().toString());
+        verify(jobLockService).release(eq(CardExpiryJob.JOB_NAME), any(LocalDateTime.class), eq(7L), eq(40L), isNull());
+    }
+
+    @Test
+    void run_WithCheckpoint_SweepsOnlyNewWindow() {
+        LocalDate lastRun = LocalDate.now().minusDays(1);
+        when(jobLockService.tryAcquire(CardExpiryJob.JOB_NAME, LEASE)).thenReturn(true);
+        when(jobLockService.getCheckpoint(CardExpiryJob.JOB_NAME)).thenReturn(Optional.of(lastRun.toString()));
+        when(cardExpiryService.expireCardsSince(eq(lastRun), eq(LocalDate.now()), any(Runnable.class)))
+                .thenReturn(new ExpirySweepResult(3, 1, 2));
+
+        cardExpiryJob.run();
+
+        verify(cardExpiryService, never()).expireCards(any(LocalDate.class), any(Runnable.class));
+        verify(jobLockService).saveCheckpoint(CardExpiryJob.JOB_NAME, LocalDate.now().toString());
+    }
+
+    @Test
+    void run_ConfiguredZone_UsesDateInCronZone() {
+        ZoneId zone = ZoneId.of("Pacific/Kiritimati");
+        ReflectionTestUtils.setField(cardExpiryJob, "zone", zone.getId());
+        when(jobLockService.tryAcquire(CardExpiryJob.JOB_NAME, LEASE)).thenReturn(true);
+        when(jobLockService.getCheckpoint(CardExpiryJob.JOB_NAME)).thenReturn(Optional.empty());
+        when(cardExpiryService.expireCards(any(LocalDate.class), any(Runnable.class)))
+                .thenReturn(new ExpirySweepResult(0, 0, 1));
+
+        cardExpiryJob.run();
+
+        verify(cardExpiryService).expireCards(eq(LocalDate.now(zone)), any(Runnable.class));
+        verify(jobLockService).saveCheckpoint(CardExpiryJob.JOB_NAME, LocalDate.now(zone).toString());
+    }
+
+    @Test
+    void run_LeaseLostDuringSweep_RecordsError() {
+        when(jobLockService.tryAcquire(CardExpiryJob.JOB_NAME, LEASE)).thenReturn(true);
+        doThrow(new LeaseLostException(CardExpiryJob.JOB_NAME)).when(jobLockService).renewOrThrow(CardExpiryJob.JOB_NAME, LEASE);
+        when(jobLockService.getCheckpoint(CardExpiryJob.JOB_NAME)).thenReturn(Optional.empty());
+        when(cardExpiryService.expireCards(any(LocalDate.class), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return new ExpirySweepResult(1, 1, 5);
+        });
+
+        cardExpiryJob.run();
+
+        verify(jobLockService).release(eq(CardExpiryJob.JOB_NAME), any(LocalDateTime.class), isNull(), anyLong(),
+                eq("Lease on job card-expiry was lost"));
+        verify(jobLockService, never()).saveCheckpoint(any(), any());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.ExpirySweepResult;
+import com.example.bankcards.repository.CardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardExpiryServiceTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private CardExpiryService cardExpiryService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cardExpiryService, "chunkSize", 100L);
+    }
+
+    @Test
+    void expireCards_UpdatesEachIdRangeInOwnTransaction() {
+        when(cardRepository.findMinId()).thenReturn(1L);
+        when(cardRepository.findMaxId()).thenReturn(250L);
+        when(cardRepository.expireCardsInRange(anyLong(), anyLong(), any(LocalDate.class))).thenReturn(4, 0, 2);
+
+        ExpirySweepResult result = cardExpiryService.expireCards();
+
+        assertThat(result.expiredCards()).isEqualTo(6);
+        assertThat(result.chunks()).isEqualTo(3);
+        verify(cardRepository).expireCardsInRange(eq(1L), eq(101L), eq(LocalDate.now()));
+        verify(cardRepository).expireCardsInRange(eq(101L), eq(201L), eq(LocalDate.now()));
+        verify(cardRepository).expireCardsInRange(eq(201L), eq(301L), eq(LocalDate.now()));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void expireCards_NoCards_DoesNothing() {
+        when(cardRepository.findMinId()).thenReturn(null);
+
+        ExpirySweepResult result = cardExpiryService.expireCards();
+
+        assertThat(result.expiredCards()).isZero();
+        assertThat(result.chunks()).isZero();
+        verify(cardRepository, never()).expireCardsInRange(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void expireCardsSince_UpdatesOnlyCardsInWindowUntilNoneLeft() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate today = LocalDate.of(2025, 3, 2);
+        when(cardRepository.findExpiringIds(eq(from), eq(today), any(Pageable.class)))
+                .thenReturn(List.of(5L, 9L), List.of());
+        when(cardRepository.expireCardsByIds(List.of(5L, 9L), today)).thenReturn(2);
+        List<Integer> renewals = new ArrayList<>();
+
+        ExpirySweepResult result = cardExpiryService.expireCardsSince(from, today, () -> renewals.add(1));
+
+        assertThat(result.expiredCards()).isEqualTo(2);
+        assertThat(result.chunks()).isEqualTo(1);
+        assertThat(renewals).hasSize(1);
+        verify(cardRepository, never()).findMinId();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.util.CardNumberGenerator;
+import com.example.bankcards.util.EncryptionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardNumberPoolTest {
+
+    @Mock
+    private CardNumberGenerator cardNumberGenerator;
+
+    @Mock
+    private EncryptionService encryptionService;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private IssuedCardNumberFilter issuedCardNumberFilter;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private CardNumberPool cardNumberPool;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cardNumberPool, "enabled", true);
+        ReflectionTestUtils.setField(cardNumberPool, "capacity", 3);
+        ReflectionTestUtils.setField(cardNumberPool, "lowWaterMark", 0);
+        ReflectionTestUtils.setField(cardNumberPool, "batchSize", 2);
+        cardNumberPool.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardNumberPool.stop();
+    }
+
+    private void stubCandidates() {
+        AtomicInteger sequence = new AtomicInteger();
+        when(cardNumberGenerator.generateCardNumber()).thenAnswer(invocation -> "n" + sequence.incrementAndGet());
+        when(encryptionService.hash(anyString())).thenAnswer(invocation -> "h" + invocation.<String>getArgument(0));
+        lenient().when(encryptionService.encrypt(anyString())).thenAnswer(invocation -> "e" + invocation.<String>getArgument(0));
+        lenient().when(encryptionService.createMask(anyString())).thenAnswer(invocation -> "m" + invocation.<String>getArgument(0));
+    }
+
+    @Test
+    void refill_FillsToCapacityAndSkipsTakenNumbers() {
+        stubCandidates();
+        when(issuedCardNumberFilter.mightContain(anyString())).thenReturn(true);
+        when(cardRepository.findExistingCardNumberHashes(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(0).contains("hn2") ? List.of("hn2") : List.of());
+
+        int added = cardNumberPool.refill();
+
+        assertThat(added).isEqualTo(3);
+        assertThat(meterRegistry.get("card.number.pool.size").gauge().value()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("card.number.pool.refilled").counter().count()).isEqualTo(3.0);
+        assertThat(cardNumberPool.poll()).hasValue(new CardNumberPool.Entry("hn1", "en1", "mn1"));
+        assertThat(cardNumberPool.poll()).hasValue(new CardNumberPool.Entry("hn3", "en3", "mn3"));
+        assertThat(cardNumberPool.poll()).hasValue(new CardNumberPool.Entry("hn4", "en4", "mn4"));
+        verify(encryptionService, never()).encrypt("n2");
+    }
+
+    @Test
+    void refill_DefiniteFilterMisses_SkipDatabaseCheck() {
+        stubCandidates();
+        when(issuedCardNumberFilter.mightContain(anyString())).thenAnswer(invocation -> "hn2".equals(invocation.getArgument(0)));
+        when(cardRepository.findExistingCardNumberHashes(List.of("hn2"))).thenReturn(List.of("hn2"));
+
+        int added = cardNumberPool.refill();
+
+        assertThat(added).isEqualTo(3);
+        verify(cardRepository, times(1)).findExistingCardNumberHashes(anyCollection());
+    }
+
+    @Test
+    void poll_EmptyPool_CountsMissAndTriggersRefill() {
+        ReflectionTestUtils.setField(cardNumberPool, "lowWaterMark", 1);
+        stubCandidates();
+        when(issuedCardNumberFilter.mightContain(anyString())).thenReturn(true);
+        when(cardRepository.findExistingCardNumberHashes(anyCollection())).thenReturn(List.of());
+
+        assertThat(cardNumberPool.poll()).isEmpty();
+
+        assertThat(meterRegistry.get("card.number.pool.misses").counter().count()).isEqualTo(1.0);
+        verify(cardRepository, timeout(5000).atLeastOnce()).findExistingCardNumberHashes(anyCollection());
+    }
+
+    @Test
+    void poll_Disabled_ReturnsEmptyWithoutRefilling() {
+        ReflectionTestUtils.setField(cardNumberPool, "enabled", false);
+
+        assertThat(cardNumberPool.poll()).isEmpty();
+
+        verifyNoInteractions(cardNumberGenerator, cardRepository);
+    }
+}
@@ -14,9 +14,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -42,6 +44,21 @@ class CardServiceTest {
     
     @Mock
     private EncryptionService encryptionService;
+
+    @Mock
+    private TransferEngine transferEngine;
+
+    @Mock
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Mock
+    private CardNumberPool cardNumberPool;
+
+    @Mock
+    private IssuedCardNumberFilter issuedCardNumberFilter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
     
     @InjectMocks
     private CardService cardService;
@@ -52,6 +69,11 @@ class CardServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(retryExecutor).execute(anyString(), any(Runnable.class));
+
         user = new User("ivan_ivanov", "password", "ivan@ivanov.com", Role.USER);
         user.setId(1L);
         
@@ -69,16 +91,94 @@ class CardServiceTest {
         when(userRepository.findByUsername("ivan_ivanov")).thenReturn(Optional.of(user));
         when(cardRepository.countByOwnerId(1L)).thenReturn(2L);
         when(cardNumberGenerator.generateCardNumber()).thenReturn("1234567812345678");
+        when(encryptionService.hash("1234567812345678")).thenReturn("hash123");
+        when(issuedCardNumberFilter.mightContain("hash123")).thenReturn(false);
         when(encryptionService.encrypt("1234567812345678")).thenReturn("encrypted123");
-        when(cardRepository.existsByEncryptedCardNumber("encrypted123")).thenReturn(false);
         when(encryptionService.createMask("1234567812345678")).thenReturn("**** **** **** 5678");
         when(cardNumberGenerator.generateExpiryDate()).thenReturn(LocalDate.now().plusYears(3));
-        when(cardRepository.save(any(Card.class))).thenReturn(card1);
+        when(cardRepository.saveAndFlush(any(Card.class))).thenReturn(card1);
 
         Card result = cardService.createCard("ivan_ivanov", "Иван Иванов");
 
         assertThat(result).isNotNull();
-        verify(cardRepository).save(any(Card.class));
+        verify(cardRepository).saveAndFlush(argThat(card -> "hash123".equals(card.getCardNumberHash())
+                && "encrypted123".equals(card.getEncryptedCardNumber())));
+        verify(cardRepository, never()).existsByCardNumberHash(anyString());
+        verify(issuedCardNumberFilter).put("hash123");
+    }
+
+    @Test
+    void createCard_NumberHashTaken_GeneratesAnotherNumber() {
+        when(userRepository.findByUsername("ivan_ivanov")).thenReturn(Optional.of(user));
+        when(cardRepository.countByOwnerId(1L)).thenReturn(0L);
+        when(cardNumberGenerator.generateCardNumber()).thenReturn("1111222233334444", "5555666677778888");
+        when(encryptionService.hash("1111222233334444")).thenReturn("taken");
+        when(encryptionService.hash("5555666677778888")).thenReturn("free");
+        when(issuedCardNumberFilter.mightContain("taken")).thenReturn(true);
+        when(issuedCardNumberFilter.mightContain("free")).thenReturn(true);
+        when(cardRepository.existsByCardNumberHash("taken")).thenReturn(true);
+        when(cardRepository.existsByCardNumberHash("free")).thenReturn(false);
+        when(encryptionService.encrypt("5555666677778888")).thenReturn("encrypted");
+        when(cardRepository.saveAndFlush(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Card result = cardService.createCard("ivan_ivanov", "Иван Иванов");
+
+        assertThat(result.getCardNumberHash()).isEqualTo("free");
+        verify(encryptionService, never()).encrypt("1111222233334444");
+    }
+
+    @Test
+    void createCard_PooledNumber_SkipsGenerationAndCrypto() {
+        when(userRepository.findByUsername("ivan_ivanov")).thenReturn(Optional.of(user));
+        when(cardRepository.countByOwnerId(1L)).thenReturn(0L);
+        when(cardNumberPool.poll()).thenReturn(Optional.of(
+                new CardNumberPool.Entry("pooled", "encryptedPooled", "**** **** **** 9012")));
+        when(cardNumberGenerator.generateExpiryDate()).thenReturn(LocalDate.now().plusYears(3));
+        when(cardRepository.saveAndFlush(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Card result = cardService.createCard("ivan_ivanov", "Иван Иванов");
+
+        assertThat(result.getCardNumberHash()).isEqualTo("pooled");
+        assertThat(result.getEncryptedCardNumber()).isEqualTo("encryptedPooled");
+        assertThat(result.getMaskedCardNumber()).isEqualTo("**** **** **** 9012");
+        verify(cardNumberGenerator, never()).generateCardNumber();
+        verifyNoInteractions(encryptionService);
+        verify(cardRepository, never()).existsByCardNumberHash(anyString());
+    }
+
+    @Test
+    void createCard_NumberIssuedOnAnotherNode_RetriesWithNewNumber() {
+        when(userRepository.findByUsername("ivan_ivanov")).thenReturn(Optional.of(user));
+        when(cardRepository.countByOwnerId(1L)).thenReturn(0L);
+        when(cardNumberPool.poll()).thenReturn(
+                Optional.of(new CardNumberPool.Entry("issuedElsewhere", "encrypted1", "**** **** **** 1111")),
+                Optional.of(new CardNumberPool.Entry("free", "encrypted2", "**** **** **** 2222")));
+        when(cardNumberGenerator.generateExpiryDate()).thenReturn(LocalDate.now().plusYears(3));
+        when(cardRepository.saveAndFlush(any(Card.class)))
+                .thenThrow(new DataIntegrityViolationException("Unique index or primary key violation: "
+                        + "\"PUBLIC.UQ_CARDS_CARD_NUMBER_HASH ON PUBLIC.CARDS(CARD_NUMBER_HASH)\""))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Card result = cardService.createCard("ivan_ivanov", "Иван Иванов");
+
+        assertThat(result.getCardNumberHash()).isEqualTo("free");
+        verify(cardRepository, times(2)).saveAndFlush(any(Card.class));
+    }
+
+    @Test
+    void createCard_OtherConstraintViolation_NotRetried() {
+        when(userRepository.findByUsername("ivan_ivanov")).thenReturn(Optional.of(user));
+        when(cardRepository.countByOwnerId(1L)).thenReturn(0L);
+        when(cardNumberPool.poll()).thenReturn(
+                Optional.of(new CardNumberPool.Entry("hash", "encrypted", "**** **** **** 1111")));
+        when(cardNumberGenerator.generateExpiryDate()).thenReturn(LocalDate.now().plusYears(3));
+        when(cardRepository.saveAndFlush(any(Card.class)))
+                .thenThrow(new DataIntegrityViolationException("NULL not allowed for column \"OWNER_ID\""));
+
+        assertThatThrownBy(() -> cardService.createCard("ivan_ivanov", "Иван Иванов"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        verify(cardRepository, times(1)).saveAndFlush(any(Card.class));
     }
 
     @Test
@@ -90,7 +190,7 @@ class CardServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Maximum number of cards reached (5)");
 
-        verify(cardRepository, never()).save(any(Card.class));
+        verify(cardRepository, never()).saveAndFlush(any(Card.class));
     }
 
     @Test
@@ -129,25 +229,10 @@ class CardServiceTest {
     }
 
     @Test
-    void transferMoney_Success() {
-        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
-        when(cardRepository.findById(2L)).thenReturn(Optional.of(card2));
-
+    void transferMoney_DelegatesToTransferEngine() {
         cardService.transferMoney(1L, 2L, new BigDecimal("100.00"), "ivan_ivanov");
 
-        assertThat(card1.getBalance()).isEqualByComparingTo(new BigDecimal("900.00"));
-        assertThat(card2.getBalance()).isEqualByComparingTo(new BigDecimal("600.00"));
-        verify(cardRepository, times(2)).save(any(Card.class));
-    }
-
-    @Test
-    void transferMoney_InsufficientFunds_ThrowsException() {
-        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
-        when(cardRepository.findById(2L)).thenReturn(Optional.of(card2));
-
-        assertThatThrownBy(() -> cardService.transferMoney(1L, 2L, new BigDecimal("2000.00"), "ivan_ivanov"))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage("Insufficient funds");
+        verify(transferEngine).transfer(1L, 2L, new BigDecimal("100.00"), "ivan_ivanov");
     }
 
     @Test
@@ -155,30 +240,8 @@ class CardServiceTest {
         assertThatThrownBy(() -> cardService.transferMoney(1L, 2L, new BigDecimal("-100.00"), "ivan_ivanov"))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Transfer amount must be positive");
-    }
-
-    @Test
-    void transferMoney_CardNotActive_ThrowsException() {
-        card1.setStatus(CardStatus.BLOCKED);
-        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
-        when(cardRepository.findById(2L)).thenReturn(Optional.of(card2));
-
-        assertThatThrownBy(() -> cardService.transferMoney(1L, 2L, new BigDecimal("100.00"), "ivan_ivanov"))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage("Both cards must be active for transfer");
-    }
-
-    @Test
-    void updateCardStatus_ExpiresCards() {
-        Card expiredCard = new Card("enc", "mask", "Иван Иванов", LocalDate.now().minusDays(1), user);
-        expiredCard.setStatus(CardStatus.ACTIVE);
-        
-        when(cardRepository.findAll()).thenReturn(List.of(expiredCard));
-
-        cardService.updateCardStatus();
 
-        assertThat(expiredCard.getStatus()).isEqualTo(CardStatus.EXPIRED);
-        verify(cardRepository).save(expiredCard);
+        verifyNoInteractions(transferEngine);
     }
 
     @Test
@@ -0,0 +1,113 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalUpdateTransferEngineTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private TransferLedger transferLedger;
+
+    @InjectMocks
+    private ConditionalUpdateTransferEngine transferEngine;
+
+    private final BigDecimal amount = new BigDecimal("100.00");
+    private Card card1;
+    private Card card2;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("ivan_ivanov", "password", "ivan@ivanov.com", Role.USER);
+        user.setId(1L);
+
+        card1 = new Card("encrypted123", "**** **** **** 1234", "Иван Иванов", LocalDate.now().plusYears(3), user);
+        card1.setId(1L);
+        card1.setBalance(new BigDecimal("50.00"));
+
+        card2 = new Card("encrypted456", "**** **** **** 5678", "Иван Иванов", LocalDate.now().plusYears(3), user);
+        card2.setId(2L);
+    }
+
+    @Test
+    void transfer_Success_UsesTwoStatementsWithoutLoadingCards() {
+        when(cardRepository.debitIfAllowed(1L, "ivan_ivanov", amount)).thenReturn(1);
+        when(cardRepository.creditIfAllowed(2L, "ivan_ivanov", amount)).thenReturn(1);
+
+        transferEngine.transfer(1L, 2L, amount, "ivan_ivanov");
+
+        verify(cardRepository, never()).findById(anyLong());
+        verify(transferLedger).record(1L, 2L, amount);
+    }
+
+    @Test
+    void transfer_UpdatesRowsInIdOrder() {
+        when(cardRepository.creditIfAllowed(1L, "ivan_ivanov", amount)).thenReturn(1);
+        when(cardRepository.debitIfAllowed(2L, "ivan_ivanov", amount)).thenReturn(1);
+
+        transferEngine.transfer(2L, 1L, amount, "ivan_ivanov");
+
+        InOrder inOrder = inOrder(cardRepository);
+        inOrder.verify(cardRepository).creditIfAllowed(1L, "ivan_ivanov", amount);
+        inOrder.verify(cardRepository).debitIfAllowed(2L, "ivan_ivanov", amount);
+    }
+
+    @Test
+    void transfer_DebitRejected_ReportsInsufficientFunds() {
+        when(cardRepository.debitIfAllowed(1L, "ivan_ivanov", amount)).thenReturn(0);
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findById(2L)).thenReturn(Optional.of(card2));
+
+        assertThatThrownBy(() -> transferEngine.transfer(1L, 2L, amount, "ivan_ivanov"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Insufficient funds");
+
+        verify(cardRepository, never()).creditIfAllowed(anyLong(), anyString(), any());
+        verifyNoInteractions(transferLedger);
+    }
+
+    @Test
+    void transfer_CreditRejected_ReportsInactiveCard() {
+        card1.setBalance(new BigDecimal("1000.00"));
+        card2.setStatus(CardStatus.BLOCKED);
+        when(cardRepository.debitIfAllowed(1L, "ivan_ivanov", amount)).thenReturn(1);
+        when(cardRepository.creditIfAllowed(2L, "ivan_ivanov", amount)).thenReturn(0);
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findById(2L)).thenReturn(Optional.of(card2));
+
+        assertThatThrownBy(() -> transferEngine.transfer(1L, 2L, amount, "ivan_ivanov"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Both cards must be active for transfer");
+    }
+
+    @Test
+    void transfer_UnknownCard_ReportsNotFound() {
+        when(cardRepository.debitIfAllowed(1L, "ivan_ivanov", amount)).thenReturn(0);
+        when(cardRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> transferEngine.transfer(1L, 2L, amount, "ivan_ivanov"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Card not found");
+    }
+}
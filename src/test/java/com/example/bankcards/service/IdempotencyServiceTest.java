@@ -0,0 +1,148 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.IdempotencyKey;
+import com.example.bankcards.exception.IdempotencyKeyInProgressException;
+import com.example.bankcards.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofHours(24));
+        ReflectionTestUtils.setField(idempotencyService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(idempotencyService, "waitTimeoutMs", 5000L);
+        idempotencyService.init();
+
+        lenient().when(idempotencyKeyRepository.findByUsernameAndIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+        lenient().when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKey.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void execute_RepeatedKey_ReturnsStoredResultWithoutRunningAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = idempotencyService.execute("ivan_ivanov", "key-1", "1:2:100", () -> "done " + calls.incrementAndGet());
+        String second = idempotencyService.execute("ivan_ivanov", "key-1", "1:2:100", () -> "done " + calls.incrementAndGet());
+
+        assertThat(first).isEqualTo("done 1");
+        assertThat(second).isEqualTo("done 1");
+        assertThat(calls.get()).isEqualTo(1);
+        verify(idempotencyKeyRepository, times(1)).saveAndFlush(any(IdempotencyKey.class));
+    }
+
+    @Test
+    void execute_SameKeyDifferentRequest_ThrowsException() {
+        idempotencyService.execute("ivan_ivanov", "key-1", "1:2:100", () -> "done");
+
+        assertThatThrownBy(() -> idempotencyService.execute("ivan_ivanov", "key-1", "1:2:500", () -> "done"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Idempotency key was already used for a different request");
+    }
+
+    @Test
+    void execute_KeysAreScopedPerUser() {
+        AtomicInteger calls = new AtomicInteger();
+
+        idempotencyService.execute("ivan_ivanov", "key-1", "1:2:100", () -> String.valueOf(calls.incrementAndGet()));
+        idempotencyService.execute("petr_petrov", "key-1", "1:2:100", () -> String.valueOf(calls.incrementAndGet()));
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_StoredOutcome_IsReplayedFromDatabase() {
+        IdempotencyKey stored = new IdempotencyKey("ivan_ivanov", "key-1", "1:2:100", LocalDateTime.now().plusHours(1));
+        stored.setCompleted(true);
+        stored.setResponseBody("Transfer completed successfully");
+        when(idempotencyKeyRepository.findByUsernameAndIdempotencyKey("ivan_ivanov", "key-1")).thenReturn(Optional.of(stored));
+
+        String result = idempotencyService.execute("ivan_ivanov", "key-1", "1:2:100", () -> {
+            throw new AssertionError("must not run");
+        });
+
+        assertThat(result).isEqualTo("Transfer completed successfully");
+    }
+
+    @Test
+    void execute_KeyReservedElsewhere_ThrowsInProgress() {
+        IdempotencyKey stored = new IdempotencyKey("ivan_ivanov", "key-1", "1:2:100", LocalDateTime.now().plusHours(1));
+        when(idempotencyKeyRepository.findByUsernameAndIdempotencyKey("ivan_ivanov", "key-1")).thenReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> idempotencyService.execute("ivan_ivanov", "key-1", "1:2:100", () -> "done"))
+                .isInstanceOf(IdempotencyKeyInProgressException.class);
+    }
+
+    @Test
+    void execute_FailedAction_ReleasesKey() {
+        assertThatThrownBy(() -> idempotencyService.execute("ivan_ivanov", "key-1", "1:2:100", () -> {
+            throw new RuntimeException("Insufficient funds");
+        })).hasMessage("Insufficient funds");
+
+        verify(idempotencyKeyRepository).deleteById(any());
+        assertThat(idempotencyService.execute("ivan_ivanov", "key-1", "1:2:100", () -> "done")).isEqualTo("done");
+    }
+
+    @Test
+    void execute_ConcurrentDuplicates_RunActionOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("ivan_ivanov", "key-1", "1:2:100", () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    awaitQuietly(release);
+                    return "done";
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("ivan_ivanov", "key-1", "1:2:100", () -> "done again " + calls.incrementAndGet()));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardStatus;
+import com.example.bankcards.entity.Role;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LockingTransferEngineTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private TransferLedger transferLedger;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private LockingTransferEngine transferEngine;
+
+    private Card card1;
+    private Card card2;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transferEngine, "maxAttempts", 3);
+        ReflectionTestUtils.setField(transferEngine, "retryBackoffMs", 0L);
+
+        User user = new User("ivan_ivanov", "password", "ivan@ivanov.com", Role.USER);
+        user.setId(1L);
+
+        card1 = new Card("encrypted123", "**** **** **** 1234", "Иван Иванов", LocalDate.now().plusYears(3), user);
+        card1.setId(1L);
+        card1.setBalance(new BigDecimal("1000.00"));
+
+        card2 = new Card("encrypted456", "**** **** **** 5678", "Иван Иванов", LocalDate.now().plusYears(3), user);
+        card2.setId(2L);
+        card2.setBalance(new BigDecimal("500.00"));
+    }
+
+    @Test
+    void transfer_Success() {
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(card2));
+
+        transferEngine.transfer(1L, 2L, new BigDecimal("100.00"), "ivan_ivanov");
+
+        assertThat(card1.getBalance()).isEqualByComparingTo(new BigDecimal("900.00"));
+        assertThat(card2.getBalance()).isEqualByComparingTo(new BigDecimal("600.00"));
+        verify(transferLedger).record(1L, 2L, new BigDecimal("100.00"));
+    }
+
+    @Test
+    void transfer_LocksLowestIdFirst() {
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(card2));
+
+        transferEngine.transfer(2L, 1L, new BigDecimal("100.00"), "ivan_ivanov");
+
+        InOrder inOrder = inOrder(cardRepository);
+        inOrder.verify(cardRepository).findByIdForUpdate(1L);
+        inOrder.verify(cardRepository).findByIdForUpdate(2L);
+        assertThat(card1.getBalance()).isEqualByComparingTo(new BigDecimal("1100.00"));
+        assertThat(card2.getBalance()).isEqualByComparingTo(new BigDecimal("400.00"));
+    }
+
+    @Test
+    void transfer_InsufficientFunds_ThrowsException() {
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(card2));
+
+        assertThatThrownBy(() -> transferEngine.transfer(1L, 2L, new BigDecimal("2000.00"), "ivan_ivanov"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Insufficient funds");
+
+        verifyNoInteractions(transferLedger);
+    }
+
+    @Test
+    void transfer_CardNotActive_ThrowsException() {
+        card1.setStatus(CardStatus.BLOCKED);
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(card2));
+
+        assertThatThrownBy(() -> transferEngine.transfer(1L, 2L, new BigDecimal("100.00"), "ivan_ivanov"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Both cards must be active for transfer");
+    }
+
+    @Test
+    void transfer_ExpiredCardNotYetSwept_ThrowsException() {
+        card2.setExpiryDate(LocalDate.now().minusDays(1));
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(card2));
+
+        assertThatThrownBy(() -> transferEngine.transfer(1L, 2L, new BigDecimal("100.00"), "ivan_ivanov"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Both cards must be active for transfer");
+
+        assertThat(card2.getStatus()).isEqualTo(CardStatus.ACTIVE);
+        verifyNoInteractions(transferLedger);
+    }
+
+    @Test
+    void transfer_WrongOwner_ThrowsException() {
+        when(cardRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(card1));
+        when(cardRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(card2));
+
+        assertThatThrownBy(() -> transferEngine.transfer(1L, 2L, new BigDecimal("100.00"), "petr_petrov"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Access denied");
+    }
+
+    @Test
+    void transfer_LockTimeout_RetriesAndSucceeds() {
+        when(cardRepository.findByIdForUpdate(1L))
+                .thenThrow(new CannotAcquireLockException("lock timeout"))
+                .thenReturn(Optional.of(card1));
+        when(cardRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(card2));
+
+        transferEngine.transfer(1L, 2L, new BigDecimal("100.00"), "ivan_ivanov");
+
+        verify(cardRepository, times(2)).findByIdForUpdate(1L);
+        assertThat(card1.getBalance()).isEqualByComparingTo(new BigDecimal("900.00"));
+        assertThat(meterRegistry.counter("card.operation.retries", "operation", "transfer", "mode", "locking").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void transfer_LockTimeout_GivesUpAfterMaxAttempts() {
+        when(cardRepository.findByIdForUpdate(1L)).thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        assertThatThrownBy(() -> transferEngine.transfer(1L, 2L, new BigDecimal("100.00"), "ivan_ivanov"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Cards are busy, please retry the transfer later");
+
+        verify(cardRepository, times(3)).findByIdForUpdate(1L);
+        verify(cardRepository, never()).findByIdForUpdate(2L);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.bankcards.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticRetryExecutorTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private OptimisticRetryExecutor retryExecutor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(retryExecutor, "maxAttempts", 3);
+        ReflectionTestUtils.setField(retryExecutor, "baseBackoffMs", 1L);
+        ReflectionTestUtils.setField(retryExecutor, "maxBackoffMs", 2L);
+    }
+
+    @Test
+    void execute_ConflictThenSuccess_RetriesAndCounts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retryExecutor.execute("transfer", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Card", 1L);
+            }
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(meterRegistry.counter("card.operation.retries", "operation", "transfer", "mode", "optimistic").count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void execute_PersistentConflict_GivesUp() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> retryExecutor.execute("blockCard", () -> {
+            calls.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Card", 1L);
+        }))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Card was modified concurrently, please retry later");
+
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(meterRegistry.counter("card.operation.retries.exhausted", "operation", "blockCard", "mode", "optimistic").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_BusinessError_IsNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> retryExecutor.execute("blockCard", () -> {
+            calls.incrementAndGet();
+            throw new RuntimeException("Card is already blocked");
+        })).hasMessage("Card is already blocked");
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+}
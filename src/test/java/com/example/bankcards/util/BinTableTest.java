@@ -0,0 +1,85 @@
+package com.example.bankcards.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinTableTest {
+
+    private static final String RANGES = """
+            # scheme ranges used by the tests
+            400000,400399,VISA,16
+            22004500,22004599,MIR,19
+            370000,379999,AMEX,15
+            """;
+
+    private final Random random = new SecureRandom();
+
+    private static BinTable parse(String text) {
+        return BinTable.parse(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void schemeOf_ResolvesSixAndEightDigitBins() {
+        BinTable table = parse(RANGES);
+
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(table.schemeOf("4003991234567890")).isEqualTo("VISA");
+        assertThat(table.schemeOf("4004001234567890")).isEqualTo("UNKNOWN");
+        assertThat(table.schemeOf("2200450012345678901")).isEqualTo("MIR");
+        assertThat(table.schemeOf("2200460012345678901")).isEqualTo("UNKNOWN");
+        assertThat(table.schemeOf("371234567890123")).isEqualTo("AMEX");
+        assertThat(table.schemeOf("37a1234567890123")).isEqualTo("UNKNOWN");
+        assertThat(table.schemeOf("4003 9912 3456 7890")).isEqualTo("VISA");
+        assertThat(table.schemeOf("2200 4500 1234 5678 901")).isEqualTo("MIR");
+    }
+
+    @Test
+    void generate_UsesRangeLengthAndPassesLuhn() {
+        BinTable table = parse(RANGES);
+
+        List<String> pans = table.generate(300, random);
+
+        assertThat(pans).hasSize(300).allMatch(table::isValid);
+        assertThat(pans).filteredOn(pan -> pan.startsWith("37")).isNotEmpty().allMatch(pan -> pan.length() == 15);
+        assertThat(pans).filteredOn(pan -> pan.startsWith("220045")).isNotEmpty().allMatch(pan -> pan.length() == 19);
+    }
+
+    @Test
+    void isValid_RejectsWrongLengthForBinAndNonDigits() {
+        BinTable table = BinTable.defaults();
+
+        assertThat(table.isValid("4000000000000002")).isTrue();
+        assertThat(table.isValid("40000000000000006")).isFalse();
+        assertThat(table.isValid("400000000000000a")).isFalse();
+        assertThat(table.isValid("4000000000000001")).isFalse();
+    }
+
+    @Test
+    void isValid_UnknownBin_RequiresSixteenDigits() {
+        BinTable table = BinTable.defaults();
+
+        assertThat(table.isValid("1000000000000008")).isTrue();
+        assertThat(table.isValid("100000000000009")).isFalse();
+        assertThat(table.isValid("1000000000000000009")).isFalse();
+    }
+
+    @Test
+    void parse_OverlappingRanges_ThrowsException() {
+        assertThatThrownBy(() -> parse("400000,400399,VISA,16\n40030000,40039999,OTHER,16"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parse_InvalidBinLength_ThrowsException() {
+        assertThatThrownBy(() -> parse("4000,4003,VISA,16"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
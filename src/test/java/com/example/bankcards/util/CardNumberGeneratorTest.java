@@ -4,6 +4,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -83,9 +86,22 @@ class CardNumberGeneratorTest {
         assertThat(generator.getCardType("2201123456789012")).isEqualTo("MIR");
     }
 
+    @Test
+    void getCardType_FormattedNumber_UsesLeadingDigits() {
+        assertThat(generator.getCardType("4000 1234 5678 9012")).isEqualTo("VISA");
+        assertThat(generator.getCardType("2203")).isEqualTo("MIR");
+        assertThat(generator.getCardType("123")).isEqualTo("UNKNOWN");
+    }
+
+    @Test
+    void isValidCardNumber_UnknownBin_RequiresSixteenDigits() {
+        assertThat(generator.isValidCardNumber("6000000000000007")).isTrue();
+        assertThat(generator.isValidCardNumber("60000000000000004")).isFalse();
+    }
+
     @Test
     void generateMultipleCards_AllUnique() {
-        java.util.Set<String> generatedNumbers = new java.util.HashSet<>();
+        Set<String> generatedNumbers = new HashSet<>();
         
         for (int i = 0; i < 50; i++) {
             String cardNumber = generator.generateCardNumber();
@@ -93,4 +109,18 @@ class CardNumberGeneratorTest {
             generatedNumbers.add(cardNumber);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateCardNumbers_ReturnsRequestedCountOfValidNumbers() {
+        List<String> cardNumbers = generator.generateCardNumbers(100);
+
+        assertThat(cardNumbers).hasSize(100).allMatch(generator::isValidCardNumber);
+    }
+
+    @Test
+    void getCardType_UnknownBin_ReturnsUnknown() {
+        assertThat(generator.getCardType("9999123456789012")).isEqualTo("UNKNOWN");
+        assertThat(generator.getCardType("400")).isEqualTo("UNKNOWN");
+        assertThat(generator.getCardType(null)).isEqualTo("UNKNOWN");
+    }
+}
@@ -2,8 +2,14 @@ package com.example.bankcards.util;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -15,6 +21,7 @@ class EncryptionServiceTest {
     void setUp() {
         encryptionService = new EncryptionService();
         ReflectionTestUtils.setField(encryptionService, "encryptionKey", "testKey1234567890");
+        ReflectionTestUtils.setField(encryptionService, "hashKey", "testHashKey1234567890");
     }
 
     @Test
@@ -95,4 +102,104 @@ class EncryptionServiceTest {
             assertThat(mask).endsWith(lastFour);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void encrypt_IsRandomizedGcmWithVersionPrefix() {
+        String first = encryptionService.encrypt("4000123456789012");
+        String second = encryptionService.encrypt("4000123456789012");
+
+        assertThat(first).startsWith("v1:");
+        assertThat(first).isNotEqualTo(second);
+        assertThat(encryptionService.decrypt(first)).isEqualTo("4000123456789012");
+        assertThat(encryptionService.decrypt(second)).isEqualTo("4000123456789012");
+    }
+
+    @Test
+    void decrypt_LegacyEcbCiphertext_StillReadable() throws Exception {
+        byte[] key = new byte[16];
+        System.arraycopy("testKey1234567890".getBytes(), 0, key, 0, 16);
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"));
+        String legacy = Base64.getEncoder().encodeToString(cipher.doFinal("4000123456789012".getBytes()));
+
+        assertThat(encryptionService.decrypt(legacy)).isEqualTo("4000123456789012");
+    }
+
+    @Test
+    void decrypt_TamperedGcmCiphertext_ThrowsException() {
+        String encrypted = encryptionService.encrypt("4000123456789012");
+        byte[] raw = Base64.getDecoder().decode(encrypted.substring(3));
+        raw[raw.length - 1] ^= 1;
+        String tampered = "v1:" + Base64.getEncoder().encodeToString(raw);
+
+        assertThatThrownBy(() -> encryptionService.decrypt(tampered))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Error decrypting data");
+    }
+
+    @Test
+    void hash_IsDeterministicFixedWidthAndIgnoresSpaces() {
+        String hash = encryptionService.hash("4000123456789012");
+
+        assertThat(hash).hasSize(64).matches("[0-9a-f]+");
+        assertThat(encryptionService.hash("4000 1234 5678 9012")).isEqualTo(hash);
+        assertThat(encryptionService.hash("4000123456789013")).isNotEqualTo(hash);
+    }
+
+    @Test
+    void encryptAll_DecryptAll_RoundTrip() {
+        List<String> numbers = List.of("4000123456789012", "5000123456789012", "2200123456789012");
+
+        List<String> encrypted = encryptionService.encryptAll(numbers);
+
+        assertThat(encrypted).hasSize(3).doesNotContainAnyElementsOf(numbers);
+        assertThat(encryptionService.decryptAll(encrypted)).isEqualTo(numbers);
+    }
+
+    @Test
+    void rotatedKey_DecryptsOldVersionsAndEncryptsWithNewVersion() {
+        String v1 = encryptionService.encrypt("4000123456789012");
+        EncryptionService rotated = rotatedService();
+
+        String v2 = rotated.encrypt("4000123456789012");
+
+        assertThat(v2).startsWith("v2:");
+        assertThat(rotated.decrypt(v1)).isEqualTo("4000123456789012");
+        assertThat(rotated.decrypt(v2)).isEqualTo("4000123456789012");
+        assertThat(rotated.needsReEncryption(v1)).isTrue();
+        assertThat(rotated.needsReEncryption(v2)).isFalse();
+    }
+
+    @Test
+    void keyVersionOf_LegacyCiphertext_IsZeroAndNeedsReEncryption() {
+        assertThat(encryptionService.keyVersionOf("v12:abc")).isEqualTo(12);
+        assertThat(encryptionService.keyVersionOf("dGVzdA==")).isZero();
+        assertThat(encryptionService.needsReEncryption("dGVzdA==")).isTrue();
+    }
+
+    @Test
+    void decrypt_UnknownKeyVersion_ThrowsException() {
+        String v2 = rotatedService().encrypt("4000123456789012");
+
+        assertThatThrownBy(() -> encryptionService.decrypt(v2))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Error decrypting data");
+    }
+
+    @Test
+    void decrypt_InvalidInput_ThrowsException() {
+        assertThatThrownBy(() -> encryptionService.decrypt("not-base64!"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Error decrypting data");
+    }
+
+    private EncryptionService rotatedService() {
+        EncryptionService rotated = new EncryptionService();
+        ReflectionTestUtils.setField(rotated, "encryptionKey", "rotatedKey0987654321");
+        ReflectionTestUtils.setField(rotated, "keyVersion", 2);
+        ReflectionTestUtils.setField(rotated, "hashKey", "testHashKey1234567890");
+        ReflectionTestUtils.setField(rotated, "environment",
+                new MockEnvironment().withProperty("encryption.old-keys.1", "testKey1234567890"));
+        return rotated;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.bankcards.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashBloomFilterTest {
+
+    private final EncryptionService encryptionService = new EncryptionService();
+
+    HashBloomFilterTest() {
+        ReflectionTestUtils.setField(encryptionService, "hashKey", "testHashKey1234567890");
+    }
+
+    @Test
+    void mightContain_NoFalseNegatives() {
+        HashBloomFilter filter = HashBloomFilter.create(10_000, 0.01);
+        List<String> hashes = hashes(0, 10_000);
+
+        hashes.forEach(filter::put);
+
+        assertThat(hashes).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateNearConfigured() {
+        HashBloomFilter filter = HashBloomFilter.create(10_000, 0.01);
+        hashes(0, 10_000).forEach(filter::put);
+
+        long falsePositives = hashes(10_000, 20_000).stream().filter(filter::mightContain).count();
+
+        assertThat(falsePositives).isLessThan(200);
+    }
+
+    @Test
+    void create_SizesBitsAndHashFunctionsFromRate() {
+        HashBloomFilter filter = HashBloomFilter.create(1_000_000, 0.01);
+
+        assertThat(filter.getBitCount()).isBetween(9_500_000L, 9_700_000L);
+        assertThat(filter.getHashFunctions()).isEqualTo(7);
+        assertThat(filter.getSizeInBytes()).isEqualTo((filter.getBitCount() + 63) / 64 * 8);
+    }
+
+    @Test
+    void create_InvalidRate_ThrowsException() {
+        assertThatThrownBy(() -> HashBloomFilter.create(100, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<String> hashes(int from, int to) {
+        List<String> hashes = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            hashes.add(encryptionService.hash(String.format("4000%012d", i)));
+        }
+        return hashes;
+    }
+}
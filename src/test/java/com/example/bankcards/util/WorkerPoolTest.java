@@ -0,0 +1,54 @@
+package com.example.bankcards.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkerPoolTest {
+
+    private final WorkerPool workerPool = new WorkerPool("test", 3);
+
+    @AfterEach
+    void tearDown() {
+        workerPool.shutdownNow();
+    }
+
+    @Test
+    void mapSlices_KeepsInputOrder() {
+        List<Integer> items = IntStream.range(0, 10).boxed().toList();
+
+        List<Integer> doubled = workerPool.mapSlices(items, slice -> slice.stream().map(i -> i * 2).toList());
+
+        assertThat(doubled).containsExactly(0, 2, 4, 6, 8, 10, 12, 14, 16, 18);
+    }
+
+    @Test
+    void mapSlices_EmptyInput_ReturnsEmptyList() {
+        assertThat(workerPool.mapSlices(List.<Integer>of(), slice -> slice)).isEmpty();
+    }
+
+    @Test
+    void mapSlices_WorkerFails_RethrowsCause() {
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        assertThatThrownBy(() -> workerPool.mapSlices(List.of(1, 2, 3), slice -> {
+            throw failure;
+        }))
+                .hasMessage("test worker failed")
+                .hasCause(failure);
+    }
+
+    @Test
+    void daemonThreads_NamesAndMarksThreadsAsDaemon() {
+        Thread thread = WorkerPool.daemonThreads("job").newThread(() -> {
+        });
+
+        assertThat(thread.getName()).isEqualTo("job-0");
+        assertThat(thread.isDaemon()).isTrue();
+    }
+}